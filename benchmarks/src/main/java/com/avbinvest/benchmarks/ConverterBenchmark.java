@@ -0,0 +1,52 @@
+package com.avbinvest.benchmarks;
+
+import com.avbinvest.company.dto.CompanyResponseDTO;
+import com.avbinvest.company.dto.UserDTO;
+import com.avbinvest.company.module.Company;
+import com.avbinvest.company.util.CompanyConverter;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.module.User;
+import com.avbinvest.user.util.UserConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of a single user and of a company with its employee list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"10", "1000"})
+    private int employees;
+
+    private User user;
+    private CompanyDTO company;
+    private Company companyEntity;
+    private List<UserDTO> employeeDtos;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.users(1).get(0);
+        company = Fixtures.companyDtos().get(0);
+        companyEntity = Fixtures.companies(1).get(0);
+        employeeDtos = Fixtures.userDtos(employees);
+    }
+
+    @Benchmark
+    public UserResponseDTO userEntityToDto() {
+        return UserConverter.convertEntityToDto(user, company);
+    }
+
+    @Benchmark
+    public CompanyResponseDTO companyEntityToDto() {
+        return CompanyConverter.convertEntityToDto(companyEntity, employeeDtos);
+    }
+}
@@ -0,0 +1,109 @@
+package com.avbinvest.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One Feign GET against a local HTTP server, over the JDK {@code HttpURLConnection} transport Feign uses by default
+ * and over the pooled Apache HttpClient 5 the services are configured with ({@code spring.cloud.openfeign.httpclient.*}).
+ * Several threads call at once, as request threads of a service do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class FeignTransportBenchmark {
+
+    @Param({"default", "hc5"})
+    private String transport;
+
+    @Param({"1024", "65536"})
+    private int bodySize;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient httpClient;
+    private CompanyApi api;
+
+    interface CompanyApi {
+
+        @RequestLine("GET /api/company/1")
+        byte[] getCompany();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = new byte[bodySize];
+        Arrays.fill(body, (byte) 'x');
+
+        // Without TCP_NODELAY the headers and a small body leave in separate segments and every call waits
+        // for the client's delayed ACK, which would hide the transports behind a fixed 40 ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/company/1", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        Client client;
+        if (transport.equals("hc5")) {
+            // Same pool settings as the services' configuration.
+            httpClient = HttpClients.custom()
+                    .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(200)
+                            .setMaxConnPerRoute(50)
+                            .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                            .build())
+                    .build();
+            client = new ApacheHttp5Client(httpClient);
+        } else {
+            client = new Client.Default(null, null);
+        }
+
+        api = Feign.builder()
+                .client(client)
+                .options(new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true))
+                .target(CompanyApi.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return api.getCompany();
+    }
+}
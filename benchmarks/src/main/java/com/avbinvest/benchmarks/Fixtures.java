@@ -0,0 +1,52 @@
+package com.avbinvest.benchmarks;
+
+import com.avbinvest.company.dto.UserDTO;
+import com.avbinvest.company.module.Company;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.module.User;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final long COMPANY_COUNT = 10;
+
+    private Fixtures() {
+    }
+
+    static List<User> users(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> User.builder()
+                        .id(id)
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .phoneNumber("+7961" + (1_000_000 + id))
+                        .companyId(id % COMPANY_COUNT + 1)
+                        .version(0L)
+                        .build())
+                .toList();
+    }
+
+    static List<CompanyDTO> companyDtos() {
+        return LongStream.rangeClosed(1, COMPANY_COUNT)
+                .mapToObj(id -> new CompanyDTO(id, "Company " + id, BigDecimal.valueOf(1_000_000 + id), 0L))
+                .toList();
+    }
+
+    static List<Company> companies(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Company.builder().Id(id).name("Company " + id).budget(BigDecimal.valueOf(1_000_000 + id)).version(0L).build())
+                .toList();
+    }
+
+    static List<UserDTO> userDtos(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new UserDTO(id, "First" + id, "Last" + id, "+7961" + (1_000_000 + id)))
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.avbinvest.benchmarks;
+
+import com.avbinvest.company.dto.CompanyResponseDTO;
+import com.avbinvest.company.util.CompanyConverter;
+import com.avbinvest.user.config.CborConfig;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.util.UserConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson (de)serialization of the largest payloads: a page of users and a company with a big employee list,
+ * in JSON and in the CBOR used between the services. Deserialization reads into a tree, as
+ * {@code PageImpl} has no deserializer. The payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "5000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private Page<UserResponseDTO> userPage;
+    private CompanyResponseDTO company;
+    private byte[] userPageBytes;
+    private byte[] companyBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = format.equals("cbor")
+                ? new CborConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper()
+                : new Jackson2ObjectMapperBuilder().build();
+
+        Map<Long, CompanyDTO> companies = Fixtures.companyDtos().stream()
+                .collect(Collectors.toMap(CompanyDTO::getId, Function.identity()));
+        List<UserResponseDTO> users = Fixtures.users(size).stream()
+                .map(user -> UserConverter.convertEntityToDto(user, companies.get(user.getCompanyId())))
+                .toList();
+        userPage = new PageImpl<>(users, PageRequest.of(0, size), size * 10L);
+        company = CompanyConverter.convertEntityToDto(Fixtures.companies(1).get(0), Fixtures.userDtos(size));
+
+        userPageBytes = mapper.writeValueAsBytes(userPage);
+        companyBytes = mapper.writeValueAsBytes(company);
+        System.out.printf("%n%s payload bytes: user page %d, company %d%n", format, userPageBytes.length, companyBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPage() throws Exception {
+        return mapper.writeValueAsBytes(userPage);
+    }
+
+    @Benchmark
+    public JsonNode deserializeUserPage() throws Exception {
+        return mapper.readTree(userPageBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeCompany() throws Exception {
+        return mapper.writeValueAsBytes(company);
+    }
+
+    @Benchmark
+    public CompanyResponseDTO deserializeCompany() throws Exception {
+        return mapper.readValue(companyBytes, CompanyResponseDTO.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.avbinvest.benchmarks;
+
+import com.avbinvest.company.dto.CompanyResponseDTO;
+import com.avbinvest.company.dto.PageDTO;
+import com.avbinvest.company.dto.UserDTO;
+import com.avbinvest.company.feignClient.UserBulkClient;
+import com.avbinvest.company.feignClient.UserClient;
+import com.avbinvest.company.module.Company;
+import com.avbinvest.company.repository.CompanyRepository;
+import com.avbinvest.company.service.CompanyChangeNotifier;
+import com.avbinvest.company.service.CompanyMembershipService;
+import com.avbinvest.company.service.CompanyServiceImpl;
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.cache.PhoneNumberFilter;
+import com.avbinvest.user.config.CompanyCacheProperties;
+import com.avbinvest.user.config.PhoneNumberFilterProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.module.User;
+import com.avbinvest.user.outbox.MembershipOutbox;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import com.avbinvest.user.repository.MembershipOutboxRepository;
+import com.avbinvest.user.repository.UserRepository;
+import com.avbinvest.user.service.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Page mapping of {@link UserServiceImpl#getAllUsers} and {@link CompanyServiceImpl#getAllCompanies}
+ * with stubbed repositories and clients, i.e. everything the services do besides I/O.
+ * Stubs are created with {@code stubOnly()} so that Mockito does not record invocations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int pageSize;
+
+    private UserServiceImpl userService;
+    private CompanyServiceImpl companyService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        pageable = PageRequest.of(0, pageSize);
+        setUpUserService();
+        setUpCompanyService();
+    }
+
+    @Benchmark
+    public Page<UserResponseDTO> userServiceGetAllUsers() {
+        return userService.getAllUsers(pageable);
+    }
+
+    @Benchmark
+    public Page<CompanyResponseDTO> companyServiceGetAllCompaniesWithEmployees() {
+        return companyService.getAllCompanies(pageable, true);
+    }
+
+    private void setUpUserService() {
+        UserRepository userRepository = stub(UserRepository.class);
+        List<User> users = Fixtures.users(pageSize);
+        when(userRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(users, pageable, pageSize * 10L));
+
+        CompanyCache companyCache = new CompanyCache(stub(CompanyClient.class), stub(CompanyProjectionRepository.class),
+                new CompanyCacheProperties(), new SimpleMeterRegistry());
+        companyCache.putAll(Fixtures.companyDtos().stream().collect(Collectors.toMap(CompanyDTO::getId, Function.identity())),
+                companyCache.generation());
+
+        userService = new UserServiceImpl(userRepository, companyCache,
+                new PhoneNumberFilter(userRepository, new PhoneNumberFilterProperties()),
+                new MembershipOutbox(stub(MembershipOutboxRepository.class)), TransactionOperations.withoutTransaction());
+    }
+
+    private void setUpCompanyService() {
+        CompanyRepository companyRepository = stub(CompanyRepository.class);
+        List<Company> companies = Fixtures.companies(pageSize);
+        when(companyRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(companies, pageable, pageSize * 10L));
+
+        // Every company has 20 employees out of a shared pool of users.
+        int employeesPerCompany = 20;
+        int userPool = Math.max(employeesPerCompany, pageSize * 5);
+        Map<Long, List<Long>> memberships = new HashMap<>();
+        for (Company company : companies) {
+            long first = (company.getId() * 7) % userPool;
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < employeesPerCompany; i++) {
+                ids.add((first + i) % userPool + 1);
+            }
+            memberships.put(company.getId(), ids);
+        }
+        CompanyMembershipService membershipService = stub(CompanyMembershipService.class);
+        when(membershipService.getEmployeeIdsByCompany(anyCollection())).thenReturn(memberships);
+
+        List<UserDTO> userDtos = Fixtures.userDtos(userPool);
+        UserClient userClient = stub(UserClient.class);
+        when(userClient.getUsersByIds(anyList(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            List<UserDTO> content = ids.stream().map(id -> userDtos.get((int) (id - 1))).toList();
+            return new PageDTO<>(content, 0, content.size(), content.size(), 1);
+        });
+
+        companyService = new CompanyServiceImpl(companyRepository, membershipService, userClient,
+                stub(UserBulkClient.class), stub(CompanyChangeNotifier.class));
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,85 @@
+package com.avbinvest.common.config;
+
+import com.avbinvest.common.tracing.InMemorySpanExporter;
+import com.avbinvest.common.tracing.JsonLinesSpanExporter;
+import com.avbinvest.common.tracing.RepositoryTracingInterceptor;
+import com.avbinvest.common.tracing.TracesEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Trace context is propagated by Micrometer Tracing (OpenTelemetry bridge) through incoming requests,
+ * Feign clients, RestTemplate/WebClient calls and the gateway routes; in services with Spring Data,
+ * repository calls get their own spans. Finished spans are exported offline, as selected by
+ * {@code app.tracing.exporter}.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "memory", matchIfMissing = true)
+    static class InMemoryExporterConfig {
+
+        @Bean
+        public InMemorySpanExporter inMemorySpanExporter(TracingProperties properties) {
+            return new InMemorySpanExporter(properties.getMaxSpans());
+        }
+
+        @Bean
+        public TracesEndpoint tracesEndpoint(InMemorySpanExporter exporter) {
+            return new TracesEndpoint(exporter);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "file")
+    static class FileExporterConfig {
+
+        @Bean
+        public JsonLinesSpanExporter jsonLinesSpanExporter(TracingProperties properties, ObjectMapper objectMapper,
+                                                           Environment environment) throws IOException {
+            Path file = properties.getFile() != null
+                    ? properties.getFile()
+                    : Path.of("traces", environment.getProperty("spring.application.name", "application") + "-spans.jsonl");
+            return new JsonLinesSpanExporter(file, objectMapper);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositoryTracingConfig {
+
+        /**
+         * Adds a {@link RepositoryTracingInterceptor} to every Spring Data repository.
+         * Static, and the tracer is looked up lazily, so that the post-processor does not initialize beans early.
+         */
+        @Bean
+        public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                        repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                                repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                        proxyFactory.addAdvice(new RepositoryTracingInterceptor(tracer, repositoryInformation.getRepositoryInterface()))));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
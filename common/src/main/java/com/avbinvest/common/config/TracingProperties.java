@@ -0,0 +1,35 @@
+package com.avbinvest.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Where finished spans go. Sampling and propagation are configured with {@code management.tracing.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private Exporter exporter = Exporter.MEMORY;
+
+    /**
+     * Most recent spans kept by the in-memory exporter.
+     */
+    private int maxSpans = 10_000;
+
+    /**
+     * JSON lines file the file exporter appends to; {@code traces/<spring.application.name>-spans.jsonl} if not set.
+     */
+    private Path file;
+
+    public enum Exporter {
+        /** Spans are recorded (and propagated) but not exported. */
+        NONE,
+        /** Kept in memory, readable at {@code /actuator/traces}. */
+        MEMORY,
+        /** Appended to {@link #file}, one JSON object per span. */
+        FILE
+    }
+}
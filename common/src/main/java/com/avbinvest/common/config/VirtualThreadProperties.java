@@ -0,0 +1,24 @@
+package com.avbinvest.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Switch for running request handling on virtual threads.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Serve every HTTP request, and therefore every Feign and JDBC call made from it, on its own virtual thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Virtual threads pinned to their carrier for longer than this are logged with their stack trace.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,41 @@
+package com.avbinvest.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Wraps repository calls in a span named after the repository and method, e.g. {@code UserRepository.findById}.
+ * Only calls made within a trace get a span, so work outside a request (e.g. scheduled jobs)
+ * does not start traces of its own.
+ */
+@RequiredArgsConstructor
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final Class<?> repositoryInterface;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        if (tracer == null || tracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+
+        Span span = tracer.nextSpan()
+                .name(repositoryInterface.getSimpleName() + "." + invocation.getMethod().getName())
+                .tag("db.repository", repositoryInterface.getName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.avbinvest.common.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/traces}: the traces held by the {@link InMemorySpanExporter} of this service.
+ * Each service only knows its own spans; look up the same trace id on the other services for the rest.
+ */
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final InMemorySpanExporter exporter;
+
+    /**
+     * Most recently finished traces first, each with its spans ordered by start time.
+     */
+    @ReadOperation
+    public Map<String, List<SpanView>> traces(@Nullable Integer limit) {
+        int maxTraces = limit == null ? DEFAULT_LIMIT : limit;
+        List<SpanView> spans = exporter.getSpans();
+
+        Map<String, List<SpanView>> traces = new LinkedHashMap<>();
+        for (int i = spans.size() - 1; i >= 0; i--) {
+            SpanView span = spans.get(i);
+            if (traces.containsKey(span.traceId()) || traces.size() < maxTraces) {
+                traces.computeIfAbsent(span.traceId(), traceId -> new ArrayList<>()).add(span);
+            }
+        }
+        traces.values().forEach(trace -> trace.sort(Comparator.comparingLong(SpanView::startEpochMicros)));
+        return traces;
+    }
+
+    @ReadOperation
+    public List<SpanView> trace(@Selector String traceId) {
+        List<SpanView> spans = new ArrayList<>(exporter.getSpans());
+        // Latest first, like traces(): a parent finishes after its children, so it stays first on equal start times.
+        Collections.reverse(spans);
+        return spans.stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanView::startEpochMicros))
+                .toList();
+    }
+}
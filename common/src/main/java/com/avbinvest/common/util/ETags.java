@@ -0,0 +1,37 @@
+package com.avbinvest.common.util;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * Utility class for building and reading the strong entity tags returned for single users and companies.
+ * A tag starts with the entity version; the version of data embedded from other services follows after a {@code -}.
+ */
+public class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version, String embeddedVersion) {
+        String tag = embeddedVersion == null ? String.valueOf(version) : version + "-" + embeddedVersion;
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * @return the entity version an {@code If-Match} header refers to, or {@code null} if the header is absent or {@code *}.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new ValidationException("If-Match requires a strong entity tag");
+        }
+        tag = tag.replace("\"", "");
+        int separator = tag.indexOf('-');
+        try {
+            return Long.parseLong(separator >= 0 ? tag.substring(0, separator) : tag);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
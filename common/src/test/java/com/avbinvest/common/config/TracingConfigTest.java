@@ -0,0 +1,41 @@
+package com.avbinvest.common.config;
+
+import com.avbinvest.common.tracing.InMemorySpanExporter;
+import com.avbinvest.common.tracing.JsonLinesSpanExporter;
+import com.avbinvest.common.tracing.TracesEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TracingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TracingConfig.class))
+            .withBean(ObjectMapper.class);
+
+    @Test
+    void shouldKeepSpansInMemoryByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(InMemorySpanExporter.class);
+            assertThat(context).hasSingleBean(TracesEndpoint.class);
+            assertThat(context).doesNotHaveBean(JsonLinesSpanExporter.class);
+        });
+    }
+
+    @Test
+    void fileExporter_shouldAppendToConfiguredFile(@TempDir Path directory) {
+        Path file = directory.resolve("spans.jsonl");
+        contextRunner.withPropertyValues("app.tracing.exporter=file", "app.tracing.file=" + file)
+                .run(context -> {
+                    assertThat(context).hasSingleBean(JsonLinesSpanExporter.class);
+                    assertThat(context).doesNotHaveBean(InMemorySpanExporter.class);
+                });
+        assertThat(file).exists();
+    }
+}
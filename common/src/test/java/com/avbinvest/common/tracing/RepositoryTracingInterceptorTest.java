@@ -0,0 +1,87 @@
+package com.avbinvest.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RepositoryTracingInterceptorTest {
+
+    interface SampleRepository {
+        Optional<String> findById(Long id);
+    }
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+    });
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void shouldRecordChildSpanWithinTrace() {
+        SampleRepository repository = tracedRepository(id -> Optional.of("user-" + id));
+
+        Span request = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            assertThat(repository.findById(1L)).contains("user-1");
+        } finally {
+            request.end();
+        }
+
+        assertThat(exporter.getSpans()).extracting(SpanView::name).containsExactly("SampleRepository.findById", "request");
+        SpanView repositorySpan = exporter.getSpans().get(0);
+        assertThat(repositorySpan.parentSpanId()).isEqualTo(request.context().spanId());
+        assertThat(repositorySpan.attributes()).containsEntry("db.repository", SampleRepository.class.getName());
+    }
+
+    @Test
+    void shouldMarkSpanAsErrorWhenRepositoryThrows() {
+        SampleRepository repository = tracedRepository(id -> {
+            throw new IllegalStateException("db down");
+        });
+
+        Span request = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            assertThatThrownBy(() -> repository.findById(1L)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            request.end();
+        }
+
+        assertThat(exporter.getSpans().get(0).status()).isEqualTo("ERROR");
+    }
+
+    @Test
+    void shouldNotStartTraceOutsideRequest() {
+        SampleRepository repository = tracedRepository(id -> Optional.empty());
+
+        repository.findById(1L);
+
+        assertThat(exporter.getSpans()).isEmpty();
+    }
+
+    private SampleRepository tracedRepository(SampleRepository target) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tracer", tracer);
+
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(new RepositoryTracingInterceptor(beanFactory.getBeanProvider(Tracer.class), SampleRepository.class));
+        return (SampleRepository) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,80 @@
+package com.avbinvest.common.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TracesEndpointTest {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(5);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+    private final TracesEndpoint endpoint = new TracesEndpoint(exporter);
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void traces_shouldGroupSpansByTraceMostRecentFirst() {
+        String first = trace("PUT /api/users/{id}", "UserRepository.findById");
+        String second = trace("GET /api/users/{id}", "UserRepository.findById");
+
+        Map<String, List<SpanView>> traces = endpoint.traces(null);
+
+        assertThat(traces.keySet()).containsExactly(second, first);
+        List<SpanView> spans = traces.get(first);
+        assertThat(spans).extracting(SpanView::name).containsExactly("PUT /api/users/{id}", "UserRepository.findById");
+        assertThat(spans.get(1).parentSpanId()).isEqualTo(spans.get(0).spanId());
+        assertThat(spans.get(0).parentSpanId()).isNull();
+    }
+
+    @Test
+    void traces_shouldRespectLimit() {
+        trace("first", "child");
+        String latest = trace("second", "child");
+
+        assertThat(endpoint.traces(1).keySet()).containsExactly(latest);
+    }
+
+    @Test
+    void trace_shouldReturnSpansOfOneTrace() {
+        String traceId = trace("root", "child");
+        trace("other", "child");
+
+        assertThat(endpoint.trace(traceId)).extracting(SpanView::name).containsExactly("root", "child");
+    }
+
+    @Test
+    void exporter_shouldDropOldestSpansBeyondCapacity() {
+        for (int i = 0; i < 4; i++) {
+            trace("root" + i, "child" + i);
+        }
+
+        assertThat(exporter.getSpans()).hasSize(5);
+        assertThat(exporter.getSpans().get(0).name()).isEqualTo("root1");
+    }
+
+    private String trace(String rootName, String childName) {
+        Span root = tracer.spanBuilder(rootName).startSpan();
+        try (Scope ignored = root.makeCurrent()) {
+            tracer.spanBuilder(childName).setParent(Context.current()).startSpan().end();
+        } finally {
+            root.end();
+        }
+        return root.getSpanContext().getTraceId();
+    }
+}
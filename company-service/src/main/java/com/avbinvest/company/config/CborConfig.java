@@ -0,0 +1,43 @@
+package com.avbinvest.company.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR (binary JSON) for internal service-to-service payloads.
+ * <p>
+ * The converter is configured like the JSON mapper and is used by both MVC and Feign (through
+ * {@code HttpMessageConverters}); Spring's default CBOR converter is dropped from the MVC list. The converter
+ * takes no part in content negotiation of its own: only the internal mappings that list {@code application/cbor}
+ * in {@code produces} answer in CBOR, so the public GETs stay JSON-only and a cache in front of them never stores
+ * a CBOR body for a JSON client. Those mappings list JSON first, so clients that accept anything keep getting JSON.
+ * </p>
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build()) {
+            @Override
+            public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+                // MVC asks without a media type when a mapping declares no produces; stay out of those
+                return mediaType != null && super.canWrite(clazz, mediaType);
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter.getClass() == MappingJackson2CborHttpMessageConverter.class);
+    }
+}
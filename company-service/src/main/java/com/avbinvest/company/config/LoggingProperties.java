@@ -0,0 +1,59 @@
+package com.avbinvest.company.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Log output and request log sampling. Levels are set as usual with {@code logging.level.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.logging")
+public class LoggingProperties {
+
+    /**
+     * Console encoder, {@code json} or {@code plain}; read by {@code logback-spring.xml}.
+     */
+    private String format = "json";
+
+    /**
+     * Capacity of the async appender queue; read by {@code logback-spring.xml}.
+     */
+    private int asyncQueueSize = 8192;
+
+    private Requests requests = new Requests();
+
+    @Data
+    public static class Requests {
+
+        /**
+         * Whether a request log line is written at all.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of requests logged for endpoints without their own rate, between 0 and 1.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Per-endpoint rates keyed by controller and method, e.g. {@code CompanyController.getCompanyById=0.01}.
+         */
+        private Map<String, Double> endpoints = new LinkedHashMap<>();
+
+        /**
+         * Rate of the given {@code Controller.method} endpoint. Keys are matched ignoring case since
+         * relaxed binding may lower-case them.
+         */
+        public double sampleRateOf(String endpoint) {
+            for (Map.Entry<String, Double> entry : endpoints.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(endpoint)) {
+                    return entry.getValue();
+                }
+            }
+            return sampleRate;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package com.avbinvest.company.controller;
 
+import com.avbinvest.common.util.ETags;
 import com.avbinvest.company.dto.CompanyCreateDTO;
 import com.avbinvest.company.dto.CompanyResponseDTO;
 import com.avbinvest.company.dto.CompanyUpdateDTO;
+import com.avbinvest.company.dto.CursorPageDTO;
+import com.avbinvest.company.dto.SliceDTO;
+import com.avbinvest.company.dto.TaggedDTO;
 import com.avbinvest.company.service.CompanyService;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/company")
 @RequiredArgsConstructor
@@ -27,46 +40,94 @@ public class CompanyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "true") boolean includeEmployees)  {
-        log.info("GET /api/company — getAllCompanies() page={} size={}", page, size);
+        log.debug("GET /api/company — getAllCompanies() page={} size={}", page, size);
         Pageable pageable = PageRequest.of(page, size);
         return companyService.getAllCompanies(pageable, includeEmployees);
     }
 
+    @GetMapping(params = "withTotal=false")
+    public SliceDTO<CompanyResponseDTO> getAllCompaniesWithoutTotal(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean includeEmployees) {
+        log.debug("GET /api/company?withTotal=false — getAllCompaniesWithoutTotal() page={} size={}", page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        return companyService.getAllCompaniesSlice(pageable, includeEmployees);
+    }
+
+    @GetMapping(value = "/scroll", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<CursorPageDTO<CompanyResponseDTO>> scrollCompanies(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size,
+            @RequestParam(defaultValue = "true") boolean includeEmployees) {
+        log.debug("GET /api/company/scroll — scrollCompanies() size={}", size);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(companyService.scrollCompanies(cursor, size, includeEmployees));
+    }
+
     @GetMapping("/{id}")
-    public CompanyResponseDTO getCompanyById(@PathVariable @Min(1) Long id,
-                                             @RequestParam(defaultValue = "true") boolean includeEmployees) {
-        log.info("GET /api/company/{} — includeEmployees={}", id, includeEmployees);
-        return companyService.getCompanyById(id, includeEmployees);
+    public ResponseEntity<CompanyResponseDTO> getCompanyById(@PathVariable @Min(1) Long id,
+                                                            @RequestParam(defaultValue = "true") boolean includeEmployees,
+                                                            WebRequest request) {
+        log.debug("GET /api/company/{} — includeEmployees={}", id, includeEmployees);
+        TaggedDTO<CompanyResponseDTO> company = companyService.getTaggedCompanyById(id, includeEmployees, request::checkNotModified);
+        if (company.body() == null) {
+            return null;
+        }
+        return company.eTag() == null
+                ? ResponseEntity.ok(company.body())
+                : ResponseEntity.ok().eTag(company.eTag()).body(company.body());
+    }
+
+    @PostMapping(value = "/getCompaniesByIds", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public List<CompanyResponseDTO> getCompaniesByIds(@RequestBody @NotEmpty List<@Min(1) Long> ids) {
+        log.debug("POST /api/company/getCompaniesByIds — ids size={}", ids.size());
+        return companyService.getCompaniesByIds(ids);
     }
 
     @PostMapping
     public CompanyResponseDTO createCompany(@Validated @RequestBody CompanyCreateDTO companyDTO) {
-        log.info("POST /api/company — createCompany: {}", companyDTO);
+        log.atDebug().setMessage("POST /api/company — createCompany").addKeyValue("company", companyDTO).log();
         return companyService.createCompany(companyDTO);
     }
 
     @PostMapping("/{id}/addEmployee")
     public void addEmployee(@PathVariable @Min(1) Long id, @RequestParam @Min(1) Long userId) {
-        log.info("POST /api/company/{}/addEmployee — userId={}", id, userId);
+        log.debug("POST /api/company/{}/addEmployee — userId={}", id, userId);
         companyService.addEmployee(id, userId);
     }
 
+    @PostMapping("/{id}/addEmployees")
+    public void addEmployees(@PathVariable @Min(1) Long id, @RequestBody @NotEmpty List<@Min(1) Long> userIds) {
+        log.debug("POST /api/company/{}/addEmployees — userIds size={}", id, userIds.size());
+        companyService.addEmployees(id, userIds);
+    }
+
     @DeleteMapping("/{id}/removeEmployee")
     public void removeEmployee(@PathVariable @Min(1) Long id, @RequestParam @Min(1) Long userId) {
-        log.info("DELETE /api/company/{}/removeEmployee — userId={}", id, userId);
+        log.debug("DELETE /api/company/{}/removeEmployee — userId={}", id, userId);
         companyService.removeEmployee(id, userId);
     }
 
+    @PostMapping("/{id}/removeEmployees")
+    public void removeEmployees(@PathVariable @Min(1) Long id, @RequestBody @NotEmpty List<@Min(1) Long> userIds) {
+        log.debug("POST /api/company/{}/removeEmployees — userIds size={}", id, userIds.size());
+        companyService.removeEmployees(id, userIds);
+    }
+
     @PutMapping("/{id}")
     public CompanyResponseDTO updateCompany(@PathVariable @Min(1) Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                             @Validated @RequestBody CompanyUpdateDTO companyDTO) {
-        log.info("PUT /api/company/{} — updateCompany: {}", id, companyDTO);
+        log.atDebug().setMessage("PUT /api/company/{} — updateCompany").addArgument(id).addKeyValue("company", companyDTO).log();
+        Optional.ofNullable(ETags.parseVersion(ifMatch)).ifPresent(companyDTO::setVersion);
         return companyService.updateCompany(id, companyDTO);
     }
 
     @DeleteMapping("/{id}")
     public void deleteCompany(@PathVariable @Min(1) Long id) {
-        log.info("DELETE /api/company/{}", id);
+        log.debug("DELETE /api/company/{}", id);
         companyService.deleteCompany(id);
     }
 }
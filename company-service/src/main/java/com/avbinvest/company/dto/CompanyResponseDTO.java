@@ -17,5 +17,6 @@ public class CompanyResponseDTO {
     private Long id;
     private String name;
     private BigDecimal budget;
+    private Long version;
     private List<UserDTO> employeeIds;
 }
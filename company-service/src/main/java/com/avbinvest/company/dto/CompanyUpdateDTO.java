@@ -23,5 +23,11 @@ public class CompanyUpdateDTO {
     private BigDecimal budget;
 
     private List<Long> employeeIds;
+
+    /**
+     * Version the client based its change on, taken from the {@code If-Match} header or the body;
+     * the update is rejected if the company has changed since.
+     */
+    private Long version;
 }
 
@@ -0,0 +1,18 @@
+package com.avbinvest.company.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) scroll.
+ * {@code next} is an opaque cursor for the following page, or {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String next;
+}
@@ -0,0 +1,19 @@
+package com.avbinvest.company.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page envelope without totals: only tells whether a next page exists,
+ * so it can be served without a COUNT query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceDTO<T> {
+    private List<T> content;
+    private int pageNumber;
+    private int pageSize;
+    private boolean hasNext;
+}
@@ -0,0 +1,7 @@
+package com.avbinvest.company.dto;
+
+/**
+ * A response body together with the strong entity tag computed from the same load.
+ */
+public record TaggedDTO<T>(T body, String eTag) {
+}
@@ -0,0 +1,21 @@
+package com.avbinvest.company.feignClient;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Feign client for the bulk writes of the User Service.
+ * A separate client context ({@code user-service-bulk}), so these calls get their own
+ * read timeout under {@code spring.cloud.openfeign.client.config.user-service-bulk}.
+ */
+@FeignClient(name = "user-service", contextId = "user-service-bulk")
+public interface UserBulkClient {
+
+    @PostMapping(value = "/api/users/removeUsersFromCompany", consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
+    int removeUsersFromCompany(@RequestParam Long companyId, @RequestBody List<Long> userIds);
+}
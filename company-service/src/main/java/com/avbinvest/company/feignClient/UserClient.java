@@ -2,26 +2,32 @@ package com.avbinvest.company.feignClient;
 
 import com.avbinvest.company.dto.PageDTO;
 import com.avbinvest.company.dto.UserDTO;
+import com.avbinvest.company.dto.UsersVersionDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 /**
  * Feign client for interacting with the User Service.
- * Provides methods to fetch users by their IDs and
- * to remove a user from a company.
+ * Provides methods to fetch users (or just their version digest) by their IDs and to remove a user from a company;
+ * detaching all employees at once goes through {@link UserBulkClient}.
+ * Bulk calls exchange CBOR instead of JSON.
  */
 @FeignClient(name = "user-service")
 public interface UserClient {
 
-    @PostMapping("/api/users/getUsersByIds")
+    @PostMapping(value = "/api/users/getUsersByIds", consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
     PageDTO<UserDTO> getUsersByIds(
             @RequestBody List<Long> ids,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     );
 
+    @PostMapping(value = "/api/users/getUsersVersion", consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
+    UsersVersionDTO getUsersVersion(@RequestBody List<Long> ids);
+
     @DeleteMapping("/api/users/{userId}/removeUserFromCompany")
     Void removeUserFromCompany(@PathVariable Long userId, @RequestParam Long companyId);
 }
@@ -0,0 +1,89 @@
+package com.avbinvest.company.logging;
+
+import com.avbinvest.company.config.LoggingProperties;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured log line per sampled request, with method, route, status and duration as key-value fields.
+ * <p>
+ * Whether a request is logged is decided before the handler runs, from the rate of its handler method
+ * ({@code app.logging.requests.endpoints}, else {@code app.logging.requests.sample-rate}), so hot endpoints
+ * can be logged at 1% while the rest are logged in full. A request that is not sampled costs a random number
+ * and allocates nothing. Server errors are always logged, at WARN and without a duration.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RequestLoggingInterceptor implements HandlerInterceptor {
+
+    static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".start";
+
+    private final LoggingProperties.Requests properties;
+    private final Map<Method, Double> sampleRates = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST
+                && handler instanceof HandlerMethod handlerMethod
+                && log.isInfoEnabled()
+                && isSampled(handlerMethod)) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        int status = response.getStatus();
+        boolean failed = ex != null || status >= 500;
+        if (start == null && !failed) {
+            return;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        LoggingEventBuilder event = (failed ? log.atWarn() : log.atInfo())
+                .setMessage("{} {} -> {}")
+                .addArgument(request.getMethod())
+                .addArgument(route)
+                .addArgument(status)
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("http.route", route)
+                .addKeyValue("http.status", status);
+        if (start != null) {
+            event = event.addKeyValue("durationMs", (System.nanoTime() - (Long) start) / 1_000_000.0);
+        }
+        if (ex != null) {
+            event = event.setCause(ex);
+        }
+        event.log();
+    }
+
+    boolean isSampled(HandlerMethod handlerMethod) {
+        double rate = sampleRateOf(handlerMethod);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private double sampleRateOf(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        Double rate = sampleRates.get(method);
+        if (rate == null) {
+            rate = properties.sampleRateOf(handlerMethod.getBeanType().getSimpleName() + "." + method.getName());
+            sampleRates.put(method, rate);
+        }
+        return rate;
+    }
+}
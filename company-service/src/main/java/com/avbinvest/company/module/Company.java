@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 
 @Builder
@@ -20,6 +19,12 @@ public class Company {
     private Long Id;
     private String name;
     private BigDecimal budget;
-    @ElementCollection
-    private List<Long> employeeIds;
+
+    /**
+     * Incremented on every change of the company or its employee list; serves as ETag and optimistic lock.
+     * Added with a default so that ddl-auto can introduce the column on existing rows.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
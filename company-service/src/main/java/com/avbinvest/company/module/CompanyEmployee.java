@@ -0,0 +1,56 @@
+package com.avbinvest.company.module;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Membership of a user in a company, one row per (company, user) pair.
+ * <p>
+ * The pair is the primary key, which makes it unique and gives an index for lookups by company;
+ * the extra index on {@code user_id} serves lookups by user.
+ * The entity is always created with a known key, so it implements {@link Persistable}
+ * to be persisted (and batch-inserted) without a preceding select.
+ * </p>
+ */
+@Entity
+@Table(name = "company_employees",
+        indexes = @Index(name = "idx_company_employees_user_id", columnList = "user_id"))
+@IdClass(CompanyEmployeeId.class)
+@Getter
+@NoArgsConstructor
+public class CompanyEmployee implements Persistable<CompanyEmployeeId> {
+
+    @Id
+    @Column(name = "company_id")
+    private Long companyId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Transient
+    private boolean isNew = true;
+
+    public CompanyEmployee(Long companyId, Long userId) {
+        this.companyId = companyId;
+        this.userId = userId;
+    }
+
+    @Override
+    public CompanyEmployeeId getId() {
+        return new CompanyEmployeeId(companyId, userId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.avbinvest.company.module;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link CompanyEmployee}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyEmployeeId implements Serializable {
+
+    private Long companyId;
+    private Long userId;
+}
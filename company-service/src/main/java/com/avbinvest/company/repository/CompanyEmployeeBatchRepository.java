@@ -0,0 +1,18 @@
+package com.avbinvest.company.repository;
+
+import java.util.Collection;
+
+/**
+ * Batched membership writes that Spring Data cannot express as a single query method.
+ */
+public interface CompanyEmployeeBatchRepository {
+
+    /**
+     * Inserts a membership for every given user, skipping those that already exist
+     * ({@code ON CONFLICT DO NOTHING}), as JDBC batches. Safe against concurrent inserts of the same rows.
+     *
+     * @return number of rows inserted. Rows the driver reports without a count (batches rewritten into
+     * multi-row inserts) are counted as inserted, so the result is an upper bound.
+     */
+    int insertAllIfAbsent(Long companyId, Collection<Long> userIds);
+}
@@ -0,0 +1,37 @@
+package com.avbinvest.company.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+class CompanyEmployeeBatchRepositoryImpl implements CompanyEmployeeBatchRepository {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO company_employees (company_id, user_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAllIfAbsent(Long companyId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, userIds, BATCH_SIZE, (statement, userId) -> {
+            statement.setLong(1, companyId);
+            statement.setLong(2, userId);
+        });
+
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+}
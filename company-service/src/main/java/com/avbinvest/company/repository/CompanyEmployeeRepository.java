@@ -0,0 +1,32 @@
+package com.avbinvest.company.repository;
+
+import com.avbinvest.company.module.CompanyEmployee;
+import com.avbinvest.company.module.CompanyEmployeeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CompanyEmployeeRepository extends JpaRepository<CompanyEmployee, CompanyEmployeeId>, CompanyEmployeeBatchRepository {
+
+    @Query("select e.userId from CompanyEmployee e where e.companyId = :companyId order by e.userId")
+    List<Long> findUserIdsByCompanyId(@Param("companyId") Long companyId);
+
+    List<CompanyEmployee> findByCompanyIdIn(Collection<Long> companyIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO company_employees (company_id, user_id) VALUES (:companyId, :userId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("companyId") Long companyId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from CompanyEmployee e where e.companyId = :companyId and e.userId in :userIds")
+    int deleteMemberships(@Param("companyId") Long companyId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from CompanyEmployee e where e.companyId = :companyId")
+    int deleteAllMemberships(@Param("companyId") Long companyId);
+}
@@ -1,11 +1,31 @@
 package com.avbinvest.company.repository;
 
 import com.avbinvest.company.module.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
     Company getCompanyByName(String name);
     Optional<Company> getCompanyById(Long id);
+    List<Company> findAllByIdIn(Collection<Long> ids);
+    List<Company> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    Slice<Company> findSliceBy(Pageable pageable);
+
+    /**
+     * Bumps the version after a change of the employee list, which lives in another table.
+     * Clears the persistence context, so a company read afterwards carries the new version.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update Company c set c.version = c.version + 1 where c.id = :id")
+    int incrementVersion(@Param("id") Long id);
 }
@@ -0,0 +1,67 @@
+package com.avbinvest.company.service;
+
+import com.avbinvest.company.dto.CompanyResponseDTO;
+import com.avbinvest.company.module.Company;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.avbinvest.company.util.CompanyConverter.convertEntityToDto;
+
+/**
+ * Pushes company changes to every registered user-service instance, which keeps its local
+ * company projection and cache in sync: the current state on create/update, a removal on delete.
+ * <p>
+ * Notifications are best effort: a failure is logged and never breaks the company operation.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CompanyChangeNotifier {
+
+    private static final String USER_SERVICE = "user-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+
+    public CompanyChangeNotifier(DiscoveryClient discoveryClient, RestTemplateBuilder restTemplateBuilder) {
+        this.discoveryClient = discoveryClient;
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    public void companyUpdated(Company company) {
+        CompanyResponseDTO body = convertEntityToDto(company, List.of());
+        broadcast(company.getId(), "update", uri -> restTemplate.put(uri, body));
+    }
+
+    public void companyDeleted(Long companyId) {
+        broadcast(companyId, "evict", restTemplate::delete);
+    }
+
+    private void broadcast(Long companyId, String action, Consumer<URI> call) {
+        for (ServiceInstance instance : discoveryClient.getInstances(USER_SERVICE)) {
+            URI uri = UriComponentsBuilder.fromUri(instance.getUri())
+                    .path("/internal/company-cache/{companyId}")
+                    .buildAndExpand(companyId)
+                    .toUri();
+            try {
+                call.accept(uri);
+            } catch (RestClientException ex) {
+                log.warn("Failed to {} company {} on user-service instance {}: {}", action, companyId, instance.getUri(), ex.getMessage());
+            }
+        }
+    }
+}
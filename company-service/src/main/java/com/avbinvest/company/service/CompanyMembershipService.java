@@ -0,0 +1,119 @@
+package com.avbinvest.company.service;
+
+import com.avbinvest.company.module.CompanyEmployee;
+import com.avbinvest.company.repository.CompanyEmployeeRepository;
+import com.avbinvest.company.util.Chunks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Reads and writes company memberships stored in {@code company_employees}.
+ * Adding or removing a single employee touches exactly one row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompanyMembershipService {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final CompanyEmployeeRepository companyEmployeeRepository;
+
+    @Transactional(readOnly = true)
+    public List<Long> getEmployeeIds(Long companyId) {
+        return companyEmployeeRepository.findUserIdsByCompanyId(companyId);
+    }
+
+    /**
+     * Loads the employees of several companies with one query.
+     *
+     * @return sorted employee ids per company; companies without employees map to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> getEmployeeIdsByCompany(Collection<Long> companyIds) {
+        if (companyIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<Long>> result = new HashMap<>();
+        companyIds.forEach(companyId -> result.put(companyId, new ArrayList<>()));
+        for (CompanyEmployee membership : companyEmployeeRepository.findByCompanyIdIn(companyIds)) {
+            result.get(membership.getCompanyId()).add(membership.getUserId());
+        }
+        result.values().forEach(Collections::sort);
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the membership was created, {@code false} if it already existed.
+     */
+    @Transactional
+    public boolean addEmployee(Long companyId, Long userId) {
+        return companyEmployeeRepository.insertIfAbsent(companyId, userId) > 0;
+    }
+
+    /**
+     * Adds several employees at once without reading the current members: every id goes out as an
+     * {@code ON CONFLICT DO NOTHING} insert in JDBC batches, so memberships that already exist, including
+     * ones added concurrently, are skipped.
+     *
+     * @return number of memberships created (an upper bound, see {@link CompanyEmployeeRepository#insertAllIfAbsent}).
+     */
+    @Transactional
+    public int addEmployees(Long companyId, Collection<Long> userIds) {
+        return companyEmployeeRepository.insertAllIfAbsent(companyId, userIds.stream().distinct().toList());
+    }
+
+    /**
+     * @return {@code true} if the membership existed and was removed.
+     */
+    @Transactional
+    public boolean removeEmployee(Long companyId, Long userId) {
+        return companyEmployeeRepository.deleteMemberships(companyId, List.of(userId)) > 0;
+    }
+
+    /**
+     * Removes several employees with chunked set-based deletes.
+     *
+     * @return number of memberships actually removed.
+     */
+    @Transactional
+    public int removeEmployees(Long companyId, Collection<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().distinct().toList();
+        return Chunks.of(distinctIds, DELETE_CHUNK_SIZE).stream()
+                .mapToInt(chunk -> companyEmployeeRepository.deleteMemberships(companyId, chunk))
+                .sum();
+    }
+
+    /**
+     * Makes the given users the complete employee list of the company,
+     * touching only the rows that actually change.
+     *
+     * @return {@code true} if any membership was added or removed.
+     */
+    @Transactional
+    public boolean replaceEmployees(Long companyId, Collection<Long> userIds) {
+        Set<Long> current = new HashSet<>(companyEmployeeRepository.findUserIdsByCompanyId(companyId));
+        Set<Long> target = new LinkedHashSet<>(userIds);
+
+        List<Long> removed = current.stream().filter(userId -> !target.contains(userId)).toList();
+        List<Long> added = target.stream().filter(userId -> !current.contains(userId)).toList();
+
+        Chunks.of(removed, DELETE_CHUNK_SIZE)
+                .forEach(chunk -> companyEmployeeRepository.deleteMemberships(companyId, chunk));
+        companyEmployeeRepository.insertAllIfAbsent(companyId, added);
+
+        log.info("Replaced employees of company {}: {} added, {} removed", companyId, added.size(), removed.size());
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+
+    @Transactional
+    public void removeAllEmployees(Long companyId) {
+        int removed = companyEmployeeRepository.deleteAllMemberships(companyId);
+        log.info("Removed {} memberships of company {}", removed, companyId);
+    }
+}
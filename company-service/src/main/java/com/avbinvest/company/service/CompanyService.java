@@ -4,20 +4,30 @@ package com.avbinvest.company.service;
 import com.avbinvest.company.dto.CompanyCreateDTO;
 import com.avbinvest.company.dto.CompanyResponseDTO;
 import com.avbinvest.company.dto.CompanyUpdateDTO;
+import com.avbinvest.company.dto.CursorPageDTO;
+import com.avbinvest.company.dto.SliceDTO;
+import com.avbinvest.company.dto.TaggedDTO;
 import com.avbinvest.company.dto.UserDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 
 public interface CompanyService {
     CompanyResponseDTO createCompany(CompanyCreateDTO dto);
     CompanyResponseDTO updateCompany(Long id, CompanyUpdateDTO dto);
     CompanyResponseDTO getCompanyById(Long id, boolean includeEmployees);
+    TaggedDTO<CompanyResponseDTO> getTaggedCompanyById(Long id, boolean includeEmployees, Predicate<String> notModified);
     Page<CompanyResponseDTO> getAllCompanies(Pageable pageable, boolean includeEmployees);
+    SliceDTO<CompanyResponseDTO> getAllCompaniesSlice(Pageable pageable, boolean includeEmployees);
+    CursorPageDTO<CompanyResponseDTO> scrollCompanies(String cursor, int size, boolean includeEmployees);
+    List<CompanyResponseDTO> getCompaniesByIds(List<Long> ids);
     List<UserDTO> fetchUsersByIds(List<Long> ids);
     void deleteCompany(Long id);
     void addEmployee(Long companyId, Long userId);
+    void addEmployees(Long companyId, List<Long> userIds);
     void removeEmployee(Long companyId, Long userId);
+    void removeEmployees(Long companyId, List<Long> userIds);
 }
@@ -1,20 +1,31 @@
 package com.avbinvest.company.service;
 
+import com.avbinvest.common.util.ETags;
 import com.avbinvest.company.dto.*;
 import com.avbinvest.company.exceptions.CompanyNotFoundException;
 import com.avbinvest.company.exceptions.ConflictException;
 import com.avbinvest.company.exceptions.EmployeeNotFoundException;
 import com.avbinvest.company.exceptions.RestRequestFailedException;
+import com.avbinvest.company.feignClient.UserBulkClient;
 import com.avbinvest.company.feignClient.UserClient;
 import com.avbinvest.company.module.Company;
 import com.avbinvest.company.repository.CompanyRepository;
+import com.avbinvest.company.util.Chunks;
+import com.avbinvest.company.util.CursorCodec;
+import com.avbinvest.company.util.SingleFlight;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static com.avbinvest.company.util.CompanyConverter.*;
 
@@ -23,8 +34,14 @@ import static com.avbinvest.company.util.CompanyConverter.*;
 @RequiredArgsConstructor
 public class CompanyServiceImpl implements CompanyService {
 
+    private static final int USER_FETCH_CHUNK_SIZE = 500;
+
     private final CompanyRepository companyRepository;
+    private final CompanyMembershipService companyMembershipService;
     private final UserClient userClient;
+    private final UserBulkClient userBulkClient;
+    private final CompanyChangeNotifier companyChangeNotifier;
+    private final SingleFlight<List<Long>, PageDTO<UserDTO>> userLookups = new SingleFlight<>();
 
     @Override
     public CompanyResponseDTO createCompany(CompanyCreateDTO dto) {
@@ -32,7 +49,11 @@ public class CompanyServiceImpl implements CompanyService {
         validateCompanyNameUnique(dto.getName());
 
         Company company = companyRepository.save(convertDtoToEntity(dto));
-        List<UserDTO> users = fetchUsersSafe(company.getEmployeeIds());
+        List<Long> employeeIds = dto.getEmployeeIds() == null ? List.of() : dto.getEmployeeIds();
+        companyMembershipService.replaceEmployees(company.getId(), employeeIds);
+        List<UserDTO> users = fetchUsersSafe(employeeIds);
+
+        companyChangeNotifier.companyUpdated(company);
 
         CompanyResponseDTO result = convertEntityToDto(company, users);
         log.info("Created company with id: {}", company.getId());
@@ -43,6 +64,7 @@ public class CompanyServiceImpl implements CompanyService {
     public CompanyResponseDTO updateCompany(Long id, CompanyUpdateDTO dto) {
         Company company = getCompanyOrThrow(id);
 
+        validateVersion(company, dto.getVersion());
         if (dto.getName() != null) {
             validateCompanyNameNotBlank(dto.getName());
             validateCompanyNameUnique(dto.getName(), id);
@@ -50,7 +72,14 @@ public class CompanyServiceImpl implements CompanyService {
 
         patchCompany(company, dto);
         Company updatedCompany = companyRepository.save(company);
-        List<UserDTO> users = fetchUsersSafe(updatedCompany.getEmployeeIds());
+        if (dto.getEmployeeIds() != null && companyMembershipService.replaceEmployees(id, dto.getEmployeeIds())) {
+            companyRepository.incrementVersion(id);
+            // The bumped version is pushed to user-service, which keeps the newest version it has seen.
+            updatedCompany = getCompanyOrThrow(id);
+        }
+        List<UserDTO> users = fetchUsersSafe(companyMembershipService.getEmployeeIds(id));
+
+        companyChangeNotifier.companyUpdated(updatedCompany);
 
         CompanyResponseDTO result = convertEntityToDto(updatedCompany, users);
         log.info("Updated company with id: {}", updatedCompany.getId());
@@ -59,56 +88,128 @@ public class CompanyServiceImpl implements CompanyService {
 
     @Override
     public CompanyResponseDTO getCompanyById(Long id, boolean includeEmployees) {
+        return getTaggedCompanyById(id, includeEmployees, eTag -> false).body();
+    }
+
+    /**
+     * The company together with its tag. The tag is built before the employees are fetched: from the company
+     * version, which also moves with the employee list, and the version digest of the employees from user-service,
+     * a single aggregate query. If {@code notModified} accepts the tag, the body is {@code null} and user-service
+     * is not asked for the employees themselves.
+     * <p>
+     * Without a digest, or when fewer employees could be fetched than the digest counts, the result carries
+     * no tag, so a partial employee list is never stored under the tag of the complete one.
+     * </p>
+     */
+    @Override
+    public TaggedDTO<CompanyResponseDTO> getTaggedCompanyById(Long id, boolean includeEmployees, Predicate<String> notModified) {
         Company company = getCompanyOrThrow(id);
-        List<UserDTO> users = includeEmployees ? fetchUsersSafe(company.getEmployeeIds()) : List.of();
+        if (!includeEmployees) {
+            String eTag = ETags.of(company.getVersion(), null);
+            return new TaggedDTO<>(notModified.test(eTag) ? null : convertEntityToDto(company, List.of()), eTag);
+        }
 
-        CompanyResponseDTO result = convertEntityToDto(company, users);
-        log.info("Fetched company by id: {}", id);
-        return result;
+        List<Long> employeeIds = companyMembershipService.getEmployeeIds(id);
+        UsersVersionDTO employeesVersion = fetchUsersVersionSafe(employeeIds);
+        String eTag = employeesVersion == null
+                ? null
+                : ETags.of(company.getVersion(), employeesVersion.count() + "." + employeesVersion.versionSum());
+        if (eTag != null && notModified.test(eTag)) {
+            return new TaggedDTO<>(null, eTag);
+        }
+
+        List<UserDTO> users = fetchUsersSafe(employeeIds);
+        if (employeesVersion != null && users.size() != employeesVersion.count()) {
+            eTag = null;
+        }
+        log.debug("Fetched company by id: {}", id);
+        return new TaggedDTO<>(convertEntityToDto(company, users), eTag);
     }
 
     @Override
     public Page<CompanyResponseDTO> getAllCompanies(Pageable pageable, boolean includeEmployees) {
         Page<Company> companyPage = companyRepository.findAll(pageable);
 
-        Page<CompanyResponseDTO> dtoPage = companyPage.map(company -> {
-            List<UserDTO> users = includeEmployees ? fetchUsersSafe(company.getEmployeeIds()) : List.of();
-            return convertEntityToDto(company, users);
-        });
+        Map<Long, List<UserDTO>> employees = fetchEmployeesForCompanies(companyPage.getContent(), includeEmployees);
+        Page<CompanyResponseDTO> dtoPage = companyPage.map(company -> convertWithEmployees(company, employees));
 
-        log.info("Fetched {} companies out of total {}", dtoPage.getNumberOfElements(), dtoPage.getTotalElements());
+        log.debug("Fetched {} companies out of total {}", dtoPage.getNumberOfElements(), dtoPage.getTotalElements());
         return dtoPage;
     }
 
+    @Override
+    public SliceDTO<CompanyResponseDTO> getAllCompaniesSlice(Pageable pageable, boolean includeEmployees) {
+        Slice<Company> companySlice = companyRepository.findSliceBy(pageable);
+
+        Map<Long, List<UserDTO>> employees = fetchEmployeesForCompanies(companySlice.getContent(), includeEmployees);
+        List<CompanyResponseDTO> content = companySlice.getContent().stream()
+                .map(company -> convertWithEmployees(company, employees))
+                .toList();
+
+        log.debug("Fetched {} companies, hasNext={}", content.size(), companySlice.hasNext());
+        return new SliceDTO<>(content, companySlice.getNumber(), companySlice.getSize(), companySlice.hasNext());
+    }
+
+    @Override
+    public CursorPageDTO<CompanyResponseDTO> scrollCompanies(String cursor, int size, boolean includeEmployees) {
+        long afterId = CursorCodec.decode(cursor);
+
+        // One extra row tells whether a next page exists without a COUNT query.
+        List<Company> companies = companyRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = companies.size() > size;
+        List<Company> pageCompanies = hasNext ? companies.subList(0, size) : companies;
+
+        Map<Long, List<UserDTO>> employees = fetchEmployeesForCompanies(pageCompanies, includeEmployees);
+        List<CompanyResponseDTO> content = pageCompanies.stream()
+                .map(company -> convertWithEmployees(company, employees))
+                .toList();
+
+        String next = hasNext ? CursorCodec.encode(pageCompanies.get(pageCompanies.size() - 1).getId()) : null;
+        log.debug("Scrolled {} companies after id {}", content.size(), afterId);
+        return new CursorPageDTO<>(content, content.size(), next);
+    }
+
+    @Override
+    public List<CompanyResponseDTO> getCompaniesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompanyResponseDTO> result = companyRepository.findAllByIdIn(new HashSet<>(ids)).stream()
+                .map(company -> convertEntityToDto(company, List.of()))
+                .toList();
+
+        log.debug("Fetched {} companies for {} requested ids", result.size(), ids.size());
+        return result;
+    }
+
     @Override
     public void deleteCompany(Long companyId) {
-        Company company = getCompanyOrThrow(companyId);
-        List<Long> employeeIds = safeCopy(company.getEmployeeIds());
+        getCompanyOrThrow(companyId);
+        List<Long> employeeIds = companyMembershipService.getEmployeeIds(companyId);
 
-        for (Long userId : employeeIds) {
+        if (!employeeIds.isEmpty()) {
             try {
-                callUserServiceRemoveUserFromCompany(userId, companyId);
-            } catch (RestRequestFailedException ex) {
-                log.error("Failed to notify user-service to remove user {}: {}", userId, ex.getMessage());
-                throw ex;
+                userBulkClient.removeUsersFromCompany(companyId, employeeIds);
+            } catch (FeignException ex) {
+                log.error("Failed to notify user-service to remove {} users of company {}: {}",
+                        employeeIds.size(), companyId, ex.getMessage());
+                throw new RestRequestFailedException("Failed to detach employees of company " + companyId + " in user-service");
             }
         }
 
+        companyMembershipService.removeAllEmployees(companyId);
         companyRepository.deleteById(companyId);
+        companyChangeNotifier.companyDeleted(companyId);
         log.info("Deleted company with id: {}", companyId);
     }
 
     @Override
     public void addEmployee(Long companyId, Long userId) {
-        Company company = getCompanyOrThrow(companyId);
-
-        if (company.getEmployeeIds() == null) {
-            company.setEmployeeIds(new ArrayList<>());
-        }
+        getCompanyOrThrow(companyId);
 
-        if (!company.getEmployeeIds().contains(userId)) {
-            company.getEmployeeIds().add(userId);
-            companyRepository.save(company);
+        if (companyMembershipService.addEmployee(companyId, userId)) {
+            companyRepository.incrementVersion(companyId);
             log.info("Added employee {} to company {}", userId, companyId);
         } else {
             log.info("Employee {} already exists in company {}", userId, companyId);
@@ -116,27 +217,56 @@ public class CompanyServiceImpl implements CompanyService {
     }
 
     @Override
-    public void removeEmployee(Long companyId, Long userId) {
-        Company company = getCompanyOrThrow(companyId);
-        List<Long> employeeIds = company.getEmployeeIds();
+    public void addEmployees(Long companyId, List<Long> userIds) {
+        getCompanyOrThrow(companyId);
+
+        int added = companyMembershipService.addEmployees(companyId, userIds);
+        if (added > 0) {
+            companyRepository.incrementVersion(companyId);
+        }
+        log.info("Added {} of {} employees to company {}", added, userIds.size(), companyId);
+    }
 
-        validateEmployeeListNotEmpty(companyId, employeeIds);
-        validateEmployeeExists(userId, employeeIds);
+    @Override
+    public void removeEmployee(Long companyId, Long userId) {
+        getCompanyOrThrow(companyId);
 
-        employeeIds.remove(userId);
-        companyRepository.save(company);
+        if (!companyMembershipService.removeEmployee(companyId, userId)) {
+            throw new EmployeeNotFoundException(userId);
+        }
+        companyRepository.incrementVersion(companyId);
         log.info("Removed employee {} from company {}", userId, companyId);
     }
 
+    @Override
+    public void removeEmployees(Long companyId, List<Long> userIds) {
+        getCompanyOrThrow(companyId);
+
+        int removed = companyMembershipService.removeEmployees(companyId, userIds);
+        if (removed > 0) {
+            companyRepository.incrementVersion(companyId);
+        }
+        log.info("Removed {} of {} employees from company {}", removed, userIds.size(), companyId);
+    }
+
     @Override
     public List<UserDTO> fetchUsersByIds(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
 
-        PageDTO<UserDTO> page = userClient.getUsersByIds(ids, 0, ids.size());
-        log.info("Fetched {} users from user-service", page.getContent().size());
-        return page.getContent();
+        // Concurrent requests for the same set of users share one call to user-service;
+        // very large sets are split so that no single request body grows unbounded.
+        List<Long> distinctIds = ids.stream().distinct().sorted().toList();
+        List<UserDTO> users = new ArrayList<>(distinctIds.size());
+        for (List<Long> chunk : Chunks.of(distinctIds, USER_FETCH_CHUNK_SIZE)) {
+            List<Long> chunkIds = List.copyOf(chunk);
+            PageDTO<UserDTO> page = userLookups.execute(chunkIds,
+                    () -> userClient.getUsersByIds(chunkIds, 0, chunkIds.size()));
+            users.addAll(page.getContent());
+        }
+        log.debug("Fetched {} users from user-service", users.size());
+        return users;
     }
 
     // --- Private helpers ---
@@ -145,8 +275,57 @@ public class CompanyServiceImpl implements CompanyService {
         return companyRepository.getCompanyById(id).orElseThrow(() -> new CompanyNotFoundException(id));
     }
 
-    private void callUserServiceRemoveUserFromCompany(Long userId, Long companyId) {
-        userClient.removeUserFromCompany(userId, companyId);
+    private CompanyResponseDTO convertWithEmployees(Company company, Map<Long, List<UserDTO>> employees) {
+        return convertEntityToDto(company, employees.getOrDefault(company.getId(), List.of()));
+    }
+
+    /**
+     * Resolves the employees of a whole page of companies with one membership query
+     * and one (chunked) call to user-service for the union of their employee ids.
+     */
+    private Map<Long, List<UserDTO>> fetchEmployeesForCompanies(List<Company> companies, boolean includeEmployees) {
+        if (!includeEmployees || companies.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> companyIds = companies.stream().map(Company::getId).toList();
+        Map<Long, List<Long>> employeeIds = companyMembershipService.getEmployeeIdsByCompany(companyIds);
+
+        List<Long> allEmployeeIds = employeeIds.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        Map<Long, UserDTO> usersById = fetchUsersSafe(allEmployeeIds).stream()
+                .collect(Collectors.toMap(UserDTO::getId, Function.identity(), (first, second) -> first));
+
+        Map<Long, List<UserDTO>> result = new HashMap<>();
+        employeeIds.forEach((companyId, userIds) -> result.put(companyId, userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList()));
+        return result;
+    }
+
+    /**
+     * @return the version digest of the given users, or {@code null} if user-service could not provide it.
+     */
+    private UsersVersionDTO fetchUsersVersionSafe(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new UsersVersionDTO(0L, 0L);
+        }
+        try {
+            long count = 0;
+            long versionSum = 0;
+            for (List<Long> chunk : Chunks.of(ids.stream().distinct().sorted().toList(), USER_FETCH_CHUNK_SIZE)) {
+                UsersVersionDTO version = userClient.getUsersVersion(List.copyOf(chunk));
+                count += version.count();
+                versionSum += version.versionSum();
+            }
+            return new UsersVersionDTO(count, versionSum);
+        } catch (Exception e) {
+            log.error("Failed to fetch the version of users {}: {}", ids, e.getMessage());
+            return null;
+        }
     }
 
     private List<UserDTO> fetchUsersSafe(List<Long> ids) {
@@ -161,14 +340,16 @@ public class CompanyServiceImpl implements CompanyService {
         }
     }
 
-    private List<Long> safeCopy(List<Long> list) {
-        return list == null ? new ArrayList<>() : new ArrayList<>(list);
-    }
-
     private void patchCompany(Company company, CompanyUpdateDTO dto) {
         if (dto.getName() != null) company.setName(dto.getName());
         if (dto.getBudget() != null) company.setBudget(dto.getBudget());
-        if (dto.getEmployeeIds() != null) company.setEmployeeIds(dto.getEmployeeIds());
+    }
+
+    private void validateVersion(Company company, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(company.getVersion())) {
+            log.warn("Company {} has version {}, update was based on {}", company.getId(), company.getVersion(), expectedVersion);
+            throw new ConflictException("Company with id " + company.getId() + " was modified concurrently");
+        }
     }
 
     private void validateCompanyNameNotBlank(String name) {
@@ -189,17 +370,5 @@ public class CompanyServiceImpl implements CompanyService {
             throw new ConflictException("Company with name '" + name + "' already exists");
         }
     }
-
-    private void validateEmployeeListNotEmpty(Long companyId, List<Long> employeeIds) {
-        if (employeeIds == null || employeeIds.isEmpty()) {
-            throw new ConflictException("Company " + companyId + " has no employees");
-        }
-    }
-
-    private void validateEmployeeExists(Long userId, List<Long> employeeIds) {
-        if (!employeeIds.contains(userId)) {
-            throw new EmployeeNotFoundException(userId);
-        }
-    }
 }
 
@@ -0,0 +1,22 @@
+package com.avbinvest.company.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits large id lists into bounded chunks, e.g. to stay below
+ * the bind parameter limit of {@code IN (...)} queries or to cap request sizes.
+ */
+public class Chunks {
+
+    private Chunks() {
+    }
+
+    public static <T> List<List<T>> of(List<T> list, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -16,7 +16,6 @@ public class CompanyConverter {
         return Company.builder()
                 .name(dto.getName())
                 .budget(dto.getBudget())
-                .employeeIds(dto.getEmployeeIds())
                 .build();
     }
 
@@ -25,6 +24,7 @@ public class CompanyConverter {
                 .id(company.getId())
                 .name(company.getName())
                 .budget(company.getBudget())
+                .version(company.getVersion())
                 .employeeIds(userDTO)
                 .build();
     }
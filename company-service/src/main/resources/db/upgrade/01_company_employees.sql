@@ -0,0 +1,25 @@
+-- Moves company memberships from the former @ElementCollection table company_employee_ids
+-- into company_employees, one row per (company, user) pair (user-006).
+-- Safe to run more than once; run it before starting a company-service that no longer reads the old table.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS company_employees (
+    company_id bigint NOT NULL,
+    user_id    bigint NOT NULL,
+    PRIMARY KEY (company_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_company_employees_user_id ON company_employees (user_id);
+
+-- The old list could hold a user twice; the primary key keeps one row.
+INSERT INTO company_employees (company_id, user_id)
+SELECT DISTINCT company_id, employee_ids
+FROM company_employee_ids
+WHERE employee_ids IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+COMMIT;
+
+-- Once the new version runs correctly, the old table can be dropped:
+-- DROP TABLE company_employee_ids;
@@ -1,14 +1,20 @@
 package com.avbinvest.company.controller;
 
+import com.avbinvest.company.config.CborConfig;
 import com.avbinvest.company.dto.CompanyCreateDTO;
 import com.avbinvest.company.dto.CompanyResponseDTO;
+import com.avbinvest.company.dto.CursorPageDTO;
+import com.avbinvest.company.dto.SliceDTO;
+import com.avbinvest.company.dto.TaggedDTO;
 import com.avbinvest.company.service.CompanyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,7 +24,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Predicate;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(CompanyController.class)
 @ActiveProfiles("test")
+@Import(CborConfig.class)
 class CompanyControllerTest {
 
     @Autowired
@@ -55,13 +64,109 @@ class CompanyControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    void getAllCompanies_WithoutTotal_ShouldReturnSlice() throws Exception {
+        SliceDTO<CompanyResponseDTO> slice = new SliceDTO<>(List.of(new CompanyResponseDTO()), 0, 10, true);
+
+        Mockito.when(companyService.getAllCompaniesSlice(Mockito.any(Pageable.class), Mockito.eq(true)))
+                .thenReturn(slice);
+
+        mockMvc.perform(get("/api/company")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void scrollCompanies_ShouldReturnNextCursor() throws Exception {
+        CursorPageDTO<CompanyResponseDTO> scroll = new CursorPageDTO<>(List.of(new CompanyResponseDTO()), 1, "next-cursor");
+
+        Mockito.when(companyService.scrollCompanies(null, 1, false)).thenReturn(scroll);
+
+        mockMvc.perform(get("/api/company/scroll")
+                        .param("size", "1")
+                        .param("includeEmployees", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+    }
+
+    @Test
+    void scrollCompanies_ShouldReturnCbor_WhenRequested() throws Exception {
+        CursorPageDTO<CompanyResponseDTO> scroll = new CursorPageDTO<>(List.of(new CompanyResponseDTO()), 1, "next-cursor");
+
+        Mockito.when(companyService.scrollCompanies(null, 1, false)).thenReturn(scroll);
+
+        byte[] body = mockMvc.perform(get("/api/company/scroll")
+                        .param("size", "1")
+                        .param("includeEmployees", "false")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new CBORMapper().readTree(body).path("next").asText()).isEqualTo("next-cursor");
+    }
+
+    @Test
+    void getCompanyById_ShouldNotNegotiateCbor() throws Exception {
+        Mockito.when(companyService.getTaggedCompanyById(eq(1L), eq(true), any()))
+                .thenReturn(new TaggedDTO<>(new CompanyResponseDTO(), "\"2\""));
+
+        mockMvc.perform(get("/api/company/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     void getCompanyById_ShouldReturnCompany() throws Exception {
         CompanyResponseDTO dto = new CompanyResponseDTO();
-        Mockito.when(companyService.getCompanyById(1L, true)).thenReturn(dto);
+        Mockito.when(companyService.getTaggedCompanyById(eq(1L), eq(true), any())).thenReturn(new TaggedDTO<>(dto, "\"2\""));
 
         mockMvc.perform(get("/api/company/1"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+    }
+
+    @Test
+    void getCompanyById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        Mockito.when(companyService.getTaggedCompanyById(eq(1L), eq(true), any())).thenAnswer(invocation -> {
+            Predicate<String> notModified = invocation.getArgument(2);
+            return new TaggedDTO<>(notModified.test("\"2\"") ? null : new CompanyResponseDTO(), "\"2\"");
+        });
+
+        mockMvc.perform(get("/api/company/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCompanyById_ShouldOmitETag_WhenServiceHasNone() throws Exception {
+        Mockito.when(companyService.getTaggedCompanyById(eq(1L), eq(true), any()))
+                .thenReturn(new TaggedDTO<>(new CompanyResponseDTO(), null));
+
+        mockMvc.perform(get("/api/company/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void getCompaniesByIds_ShouldReturnCompanies() throws Exception {
+        List<Long> ids = List.of(1L, 2L);
+        CompanyResponseDTO first = CompanyResponseDTO.builder().id(1L).name("First").build();
+        CompanyResponseDTO second = CompanyResponseDTO.builder().id(2L).name("Second").build();
+
+        Mockito.when(companyService.getCompaniesByIds(ids)).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/api/company/getCompaniesByIds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].name").value("Second"));
     }
 
     @Test
@@ -86,6 +191,26 @@ class CompanyControllerTest {
         Mockito.verify(companyService).addEmployee(1L, 2L);
     }
 
+    @Test
+    void addEmployees_ShouldRegisterAllUsers() throws Exception {
+        mockMvc.perform(post("/api/company/1/addEmployees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[2,3]"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(companyService).addEmployees(1L, List.of(2L, 3L));
+    }
+
+    @Test
+    void removeEmployees_ShouldDetachAllUsers() throws Exception {
+        mockMvc.perform(post("/api/company/1/removeEmployees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[2,3]"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(companyService).removeEmployees(1L, List.of(2L, 3L));
+    }
+
     @Test
     void removeEmployee_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/api/company/1/removeEmployee")
@@ -0,0 +1,86 @@
+package com.avbinvest.company.service;
+
+import com.avbinvest.company.module.CompanyEmployee;
+import com.avbinvest.company.repository.CompanyEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompanyMembershipServiceTest {
+
+    private CompanyEmployeeRepository companyEmployeeRepository;
+    private CompanyMembershipService companyMembershipService;
+
+    @BeforeEach
+    void setUp() {
+        companyEmployeeRepository = mock(CompanyEmployeeRepository.class);
+        companyMembershipService = new CompanyMembershipService(companyEmployeeRepository);
+    }
+
+    @Test
+    void addEmployee_shouldReportWhetherRowWasInserted() {
+        when(companyEmployeeRepository.insertIfAbsent(1L, 10L)).thenReturn(1);
+        when(companyEmployeeRepository.insertIfAbsent(1L, 11L)).thenReturn(0);
+
+        assertTrue(companyMembershipService.addEmployee(1L, 10L));
+        assertFalse(companyMembershipService.addEmployee(1L, 11L));
+    }
+
+    @Test
+    void getEmployeeIdsByCompany_shouldGroupOneQueryPerPage() {
+        when(companyEmployeeRepository.findByCompanyIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new CompanyEmployee(1L, 11L), new CompanyEmployee(1L, 10L)));
+
+        Map<Long, List<Long>> result = companyMembershipService.getEmployeeIdsByCompany(List.of(1L, 2L));
+
+        assertEquals(List.of(10L, 11L), result.get(1L));
+        assertEquals(List.of(), result.get(2L));
+        verify(companyEmployeeRepository, times(1)).findByCompanyIdIn(anyCollection());
+    }
+
+    @Test
+    void addEmployees_shouldInsertIfAbsentWithoutReadingMembers() {
+        when(companyEmployeeRepository.insertAllIfAbsent(1L, List.of(10L, 11L, 12L))).thenReturn(2);
+
+        int added = companyMembershipService.addEmployees(1L, List.of(10L, 11L, 12L, 12L));
+
+        assertEquals(2, added);
+        verify(companyEmployeeRepository, never()).findUserIdsByCompanyId(anyLong());
+        verify(companyEmployeeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void removeEmployee_shouldDeleteOnlyThatRow() {
+        when(companyEmployeeRepository.deleteMemberships(1L, List.of(10L))).thenReturn(1);
+
+        assertTrue(companyMembershipService.removeEmployee(1L, 10L));
+        verify(companyEmployeeRepository, never()).deleteAllMemberships(anyLong());
+    }
+
+    @Test
+    void removeEmployees_shouldDeleteInChunks() {
+        List<Long> userIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(companyEmployeeRepository.deleteMemberships(eq(1L), anyCollection()))
+                .thenAnswer(inv -> ((Collection<?>) inv.getArgument(1)).size());
+
+        assertEquals(2500, companyMembershipService.removeEmployees(1L, userIds));
+        verify(companyEmployeeRepository, times(3)).deleteMemberships(eq(1L), anyCollection());
+    }
+
+    @Test
+    void replaceEmployees_shouldOnlyTouchChangedRows() {
+        when(companyEmployeeRepository.findUserIdsByCompanyId(1L)).thenReturn(List.of(1L, 2L, 3L));
+
+        companyMembershipService.replaceEmployees(1L, List.of(2L, 3L, 4L, 4L));
+
+        verify(companyEmployeeRepository).deleteMemberships(1L, List.of(1L));
+        verify(companyEmployeeRepository).insertAllIfAbsent(1L, List.of(4L));
+    }
+}
@@ -3,12 +3,19 @@ package com.avbinvest.company.service;
 import com.avbinvest.company.dto.*;
 import com.avbinvest.company.exceptions.CompanyNotFoundException;
 import com.avbinvest.company.exceptions.ConflictException;
+import com.avbinvest.company.exceptions.EmployeeNotFoundException;
+import com.avbinvest.company.exceptions.RestRequestFailedException;
+import com.avbinvest.company.feignClient.UserBulkClient;
 import com.avbinvest.company.feignClient.UserClient;
 import com.avbinvest.company.module.Company;
 import com.avbinvest.company.repository.CompanyRepository;
+import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -21,20 +28,26 @@ import static org.mockito.Mockito.*;
 class CompanyServiceImplTest {
 
     private CompanyRepository companyRepository;
+    private CompanyMembershipService companyMembershipService;
     private UserClient userClient;
+    private UserBulkClient userBulkClient;
+    private CompanyChangeNotifier companyChangeNotifier;
     private CompanyServiceImpl companyService;
 
     @BeforeEach
     void setUp() {
         companyRepository = mock(CompanyRepository.class);
+        companyMembershipService = mock(CompanyMembershipService.class);
         userClient = mock(UserClient.class);
-        companyService = new CompanyServiceImpl(companyRepository, userClient);
+        userBulkClient = mock(UserBulkClient.class);
+        companyChangeNotifier = mock(CompanyChangeNotifier.class);
+        companyService = new CompanyServiceImpl(companyRepository, companyMembershipService, userClient, userBulkClient, companyChangeNotifier);
     }
 
     @Test
     void createCompany_shouldCreateCompanyWithValidUsers() {
         CompanyCreateDTO request = new CompanyCreateDTO("NewCompany", BigDecimal.valueOf(50000), List.of(1L, 2L));
-        Company savedCompany = new Company(1L, "NewCompany", BigDecimal.valueOf(50000), new ArrayList<>(List.of(1L, 2L)));
+        Company savedCompany = company(1L, "NewCompany", BigDecimal.valueOf(50000));
 
         when(companyRepository.getCompanyByName("NewCompany")).thenReturn(null);
         when(companyRepository.save(any(Company.class))).thenReturn(savedCompany);
@@ -56,6 +69,8 @@ class CompanyServiceImplTest {
 
         assertEquals("NewCompany", response.getName());
         assertEquals(2, response.getEmployeeIds().size());
+        verify(companyMembershipService).replaceEmployees(1L, List.of(1L, 2L));
+        verify(companyChangeNotifier).companyUpdated(savedCompany);
     }
 
     @Test
@@ -68,13 +83,14 @@ class CompanyServiceImplTest {
 
     @Test
     void updateCompany_shouldUpdateAndReturnDTO() {
-        Company existing = new Company(1L, "Old", BigDecimal.valueOf(10000), new ArrayList<>(List.of(1L)));
-        CompanyUpdateDTO updateDto = new CompanyUpdateDTO("Updated", BigDecimal.valueOf(20000), null);
-        Company updated = new Company(1L, "Updated", BigDecimal.valueOf(20000), new ArrayList<>(List.of(1L)));
+        Company existing = company(1L, "Old", BigDecimal.valueOf(10000));
+        CompanyUpdateDTO updateDto = new CompanyUpdateDTO("Updated", BigDecimal.valueOf(20000), null, null);
+        Company updated = company(1L, "Updated", BigDecimal.valueOf(20000));
 
         when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(existing));
         when(companyRepository.getCompanyByName("Updated")).thenReturn(null);
         when(companyRepository.save(any())).thenReturn(updated);
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(1L));
 
         // Подготовка PageDTO<UserDTO>
         UserDTO user1 = new UserDTO(1L, "User1", "user1@mail.com", "+79615882383");
@@ -92,14 +108,56 @@ class CompanyServiceImplTest {
         assertEquals("Updated", response.getName());
         assertEquals(BigDecimal.valueOf(20000), response.getBudget());
         assertEquals(1, response.getEmployeeIds().size());
+        verify(companyMembershipService, never()).replaceEmployees(anyLong(), anyCollection());
+        verify(companyChangeNotifier).companyUpdated(updated);
+    }
+
+    @Test
+    void updateCompany_shouldReplaceEmployees_whenListGiven() {
+        Company existing = company(1L, "Old", BigDecimal.valueOf(10000));
+        CompanyUpdateDTO updateDto = new CompanyUpdateDTO(null, null, List.of(3L, 4L), null);
+
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(existing));
+        when(companyRepository.save(any())).thenReturn(existing);
+
+        companyService.updateCompany(1L, updateDto);
+
+        verify(companyMembershipService).replaceEmployees(1L, List.of(3L, 4L));
+    }
+
+    @Test
+    void updateCompany_shouldBumpVersion_whenEmployeesChanged() {
+        Company existing = company(1L, "Old", BigDecimal.valueOf(10000));
+        CompanyUpdateDTO updateDto = new CompanyUpdateDTO(null, null, List.of(3L), null);
+
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(existing));
+        when(companyRepository.save(any())).thenReturn(existing);
+        when(companyMembershipService.replaceEmployees(1L, List.of(3L))).thenReturn(true);
+
+        companyService.updateCompany(1L, updateDto);
+
+        verify(companyRepository).incrementVersion(1L);
+    }
+
+    @Test
+    void updateCompany_shouldThrowConflict_whenVersionIsStale() {
+        Company existing = company(1L, "Old", BigDecimal.valueOf(10000));
+        existing.setVersion(5L);
+        CompanyUpdateDTO updateDto = new CompanyUpdateDTO("Updated", null, null, 4L);
+
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(existing));
+
+        assertThrows(ConflictException.class, () -> companyService.updateCompany(1L, updateDto));
+        verify(companyRepository, never()).save(any());
     }
 
 
     @Test
     void getCompanyById_shouldReturnDTO() {
-        Company company = new Company(1L, "Comp", BigDecimal.valueOf(1000), List.of(5L));
+        Company company = company(1L, "Comp", BigDecimal.valueOf(1000));
 
         when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(5L));
 
         UserDTO user = new UserDTO(5L, "User", "mail", "+79615882383");
         PageDTO<UserDTO> page = new PageDTO<>(
@@ -117,6 +175,75 @@ class CompanyServiceImplTest {
         assertEquals(1, dto.getEmployeeIds().size());
     }
 
+    @Test
+    void getCompanyById_withoutEmployees_shouldNotReadMemberships() {
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company(1L, "Comp", BigDecimal.ONE)));
+
+        CompanyResponseDTO dto = companyService.getCompanyById(1L, false);
+
+        assertTrue(dto.getEmployeeIds().isEmpty());
+        verifyNoInteractions(companyMembershipService, userClient);
+    }
+
+
+    @Test
+    void getTaggedCompanyById_withoutEmployees_shouldTagVersionOnly() {
+        Company company = company(1L, "Comp", BigDecimal.ONE);
+        company.setVersion(7L);
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+
+        assertEquals("\"7\"", companyService.getTaggedCompanyById(1L, false, eTag -> false).eTag());
+        verifyNoInteractions(companyMembershipService, userClient);
+    }
+
+    @Test
+    void getTaggedCompanyById_withEmployees_shouldTagEmployeeVersionsToo() {
+        Company company = company(1L, "Comp", BigDecimal.ONE);
+        company.setVersion(7L);
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(5L));
+        when(userClient.getUsersVersion(List.of(5L)))
+                .thenReturn(new UsersVersionDTO(1L, 3L))
+                .thenReturn(new UsersVersionDTO(1L, 4L));
+        when(userClient.getUsersByIds(eq(List.of(5L)), anyInt(), anyInt()))
+                .thenReturn(new PageDTO<>(List.of(new UserDTO(5L, "User", "mail", "+79615882383")), 0, 10, 1, 1));
+
+        String first = companyService.getTaggedCompanyById(1L, true, eTag -> false).eTag();
+        String renamed = companyService.getTaggedCompanyById(1L, true, eTag -> false).eTag();
+
+        assertEquals("\"7-1.3\"", first);
+        assertEquals("\"7-1.4\"", renamed);
+    }
+
+    @Test
+    void getTaggedCompanyById_shouldNotFetchEmployees_whenNotModified() {
+        Company company = company(1L, "Comp", BigDecimal.ONE);
+        company.setVersion(7L);
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(5L, 6L));
+        when(userClient.getUsersVersion(List.of(5L, 6L))).thenReturn(new UsersVersionDTO(2L, 9L));
+
+        TaggedDTO<CompanyResponseDTO> result = companyService.getTaggedCompanyById(1L, true, "\"7-2.9\""::equals);
+
+        assertNull(result.body());
+        assertEquals("\"7-2.9\"", result.eTag());
+        verify(userClient, never()).getUsersByIds(anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTaggedCompanyById_shouldDropTag_whenEmployeesCouldNotAllBeFetched() {
+        Company company = company(1L, "Comp", BigDecimal.ONE);
+        company.setVersion(7L);
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(5L));
+        when(userClient.getUsersVersion(List.of(5L))).thenReturn(new UsersVersionDTO(1L, 3L));
+        when(userClient.getUsersByIds(eq(List.of(5L)), anyInt(), anyInt())).thenThrow(mock(FeignException.class));
+
+        TaggedDTO<CompanyResponseDTO> result = companyService.getTaggedCompanyById(1L, true, eTag -> false);
+
+        assertNotNull(result.body());
+        assertNull(result.eTag());
+    }
 
     @Test
     void getCompanyById_shouldThrowNotFound() {
@@ -124,50 +251,125 @@ class CompanyServiceImplTest {
         assertThrows(CompanyNotFoundException.class, () -> companyService.getCompanyById(1L, true));
     }
 
+    @Test
+    void getAllCompanies_shouldFetchEmployeesOfWholePageInOneCall() {
+        Company first = company(1L, "First", BigDecimal.ONE);
+        Company second = company(2L, "Second", BigDecimal.TEN);
+        Company empty = company(3L, "Empty", BigDecimal.ZERO);
+        Pageable pageable = PageRequest.of(0, 3);
+
+        when(companyRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(first, second, empty), pageable, 3));
+        when(companyMembershipService.getEmployeeIdsByCompany(List.of(1L, 2L, 3L)))
+                .thenReturn(Map.of(1L, List.of(10L, 11L), 2L, List.of(11L, 12L), 3L, List.of()));
+
+        UserDTO u10 = new UserDTO(10L, "U10", "L", "+79615882310");
+        UserDTO u11 = new UserDTO(11L, "U11", "L", "+79615882311");
+        UserDTO u12 = new UserDTO(12L, "U12", "L", "+79615882312");
+        when(userClient.getUsersByIds(eq(List.of(10L, 11L, 12L)), anyInt(), anyInt()))
+                .thenReturn(new PageDTO<>(List.of(u10, u11, u12), 0, 3, 3, 1));
+
+        Page<CompanyResponseDTO> result = companyService.getAllCompanies(pageable, true);
+
+        assertEquals(List.of(u10, u11), result.getContent().get(0).getEmployeeIds());
+        assertEquals(List.of(u11, u12), result.getContent().get(1).getEmployeeIds());
+        assertTrue(result.getContent().get(2).getEmployeeIds().isEmpty());
+        verify(userClient, times(1)).getUsersByIds(anyList(), anyInt(), anyInt());
+        verify(companyMembershipService, never()).getEmployeeIds(anyLong());
+    }
+
+    @Test
+    void fetchUsersByIds_shouldSplitVeryLargeSetsIntoChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1200; id++) {
+            ids.add(id);
+        }
+        when(userClient.getUsersByIds(anyList(), anyInt(), anyInt()))
+                .thenReturn(new PageDTO<>(List.of(), 0, 500, 0, 0));
+
+        companyService.fetchUsersByIds(ids);
+
+        verify(userClient, times(3)).getUsersByIds(anyList(), eq(0), intThat(size -> size <= 500));
+    }
+
+    @Test
+    void getCompaniesByIds_shouldReturnCompaniesWithoutEmployees() {
+        Company first = company(1L, "First", BigDecimal.valueOf(1000));
+        Company second = company(2L, "Second", BigDecimal.valueOf(2000));
+
+        when(companyRepository.findAllByIdIn(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        List<CompanyResponseDTO> result = companyService.getCompaniesByIds(List.of(1L, 2L, 1L));
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(dto -> dto.getEmployeeIds().isEmpty()));
+        verifyNoInteractions(userClient);
+    }
+
     @Test
     void deleteCompany_shouldRemoveAllUsersAndDelete() {
-        Company company = new Company(1L, "ToDelete", BigDecimal.valueOf(1000), new ArrayList<>(List.of(1L, 2L)));
+        Company company = company(1L, "ToDelete", BigDecimal.valueOf(1000));
         when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
-
-        doNothing().when(userClient).removeUserFromCompany(anyLong(), eq(1L));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(1L, 2L));
 
         companyService.deleteCompany(1L);
 
-        verify(userClient).removeUserFromCompany(1L, 1L);
-        verify(userClient).removeUserFromCompany(2L, 1L);
+        verify(userBulkClient, times(1)).removeUsersFromCompany(1L, List.of(1L, 2L));
+        verify(userClient, never()).removeUserFromCompany(anyLong(), anyLong());
+        verify(companyMembershipService).removeAllEmployees(1L);
         verify(companyRepository).deleteById(1L);
+        verify(companyChangeNotifier).companyDeleted(1L);
     }
 
     @Test
-    void addEmployee_shouldAddAndSave() {
-        Company company = new Company(1L, "MyComp", BigDecimal.valueOf(500), new ArrayList<>(List.of(10L)));
-        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
-        when(companyRepository.save(any())).thenReturn(company);
+    void deleteCompany_shouldKeepCompany_whenUserServiceFails() {
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company(1L, "ToDelete", BigDecimal.ONE)));
+        when(companyMembershipService.getEmployeeIds(1L)).thenReturn(List.of(1L));
+        when(userBulkClient.removeUsersFromCompany(1L, List.of(1L))).thenThrow(mock(FeignException.class));
+
+        assertThrows(RestRequestFailedException.class, () -> companyService.deleteCompany(1L));
+        verify(companyMembershipService, never()).removeAllEmployees(anyLong());
+        verify(companyRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void addEmployee_shouldInsertSingleMembership() {
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company(1L, "MyComp", BigDecimal.valueOf(500))));
+        when(companyMembershipService.addEmployee(1L, 20L)).thenReturn(true);
 
         companyService.addEmployee(1L, 20L);
 
-        ArgumentCaptor<Company> captor = ArgumentCaptor.forClass(Company.class);
-        verify(companyRepository).save(captor.capture());
+        verify(companyMembershipService).addEmployee(1L, 20L);
+        verify(companyRepository, never()).save(any());
+    }
+
+    @Test
+    void addEmployee_shouldThrow_whenCompanyMissing() {
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.empty());
 
-        assertTrue(captor.getValue().getEmployeeIds().contains(20L));
+        assertThrows(CompanyNotFoundException.class, () -> companyService.addEmployee(1L, 20L));
+        verifyNoInteractions(companyMembershipService);
     }
 
     @Test
-    void removeEmployee_shouldRemoveUserAndSave() {
-        Company company = new Company(1L, "Comp", BigDecimal.valueOf(0), new ArrayList<>(List.of(10L, 20L)));
-        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+    void removeEmployee_shouldDeleteSingleMembership() {
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company(1L, "Comp", BigDecimal.ZERO)));
+        when(companyMembershipService.removeEmployee(1L, 20L)).thenReturn(true);
 
         companyService.removeEmployee(1L, 20L);
 
-        verify(companyRepository).save(any());
-        assertFalse(company.getEmployeeIds().contains(20L));
+        verify(companyMembershipService).removeEmployee(1L, 20L);
+        verify(companyRepository, never()).save(any());
     }
 
     @Test
     void removeEmployee_shouldThrow_whenUserNotInCompany() {
-        Company company = new Company(1L, "Comp", BigDecimal.valueOf(0), new ArrayList<>(List.of(10L)));
-        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company));
+        when(companyRepository.getCompanyById(1L)).thenReturn(Optional.of(company(1L, "Comp", BigDecimal.ZERO)));
+        when(companyMembershipService.removeEmployee(1L, 999L)).thenReturn(false);
+
+        assertThrows(EmployeeNotFoundException.class, () -> companyService.removeEmployee(1L, 999L));
+    }
 
-        assertThrows(RuntimeException.class, () -> companyService.removeEmployee(1L, 999L));
+    private static Company company(Long id, String name, BigDecimal budget) {
+        return Company.builder().Id(id).name(name).budget(budget).build();
     }
 }
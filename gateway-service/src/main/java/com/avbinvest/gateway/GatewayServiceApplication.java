@@ -2,9 +2,10 @@ package com.avbinvest.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
-
+@ConfigurationPropertiesScan
 public class GatewayServiceApplication {
 
 	public static void main(String[] args) {
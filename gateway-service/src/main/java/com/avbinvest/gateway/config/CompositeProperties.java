@@ -0,0 +1,23 @@
+package com.avbinvest.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the composite endpoints served by the gateway itself.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.composite")
+public class CompositeProperties {
+
+    private String userServiceUri = "http://user-service";
+
+    private String companyServiceUri = "http://company-service";
+
+    /**
+     * Upper bound for each backend call; both run in parallel, so this is also the bound for the whole request.
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+}
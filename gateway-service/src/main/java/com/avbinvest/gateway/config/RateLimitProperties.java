@@ -0,0 +1,58 @@
+package com.avbinvest.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the per-client, per-route token buckets of the gateway.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Request header identifying the client, e.g. an API key set by a trusted front proxy.
+     * When unset or absent from the request, the remote address identifies the client.
+     */
+    private String clientHeader;
+
+    /**
+     * Limit of routes not listed in {@link #routes}.
+     */
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Limits per route id; {@code composite} applies to the gateway's own {@code /api/composite/**} endpoints.
+     */
+    private Map<String, Limit> routes = new HashMap<>();
+
+    /**
+     * Buckets of clients that stayed idle this long are dropped (a new bucket starts full anyway).
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Upper bound for the number of buckets held in memory.
+     */
+    private long maximumBuckets = 100_000;
+
+    @Data
+    public static class Limit {
+
+        /**
+         * Burst size: requests a client may send at once.
+         */
+        private long capacity = 100;
+
+        /**
+         * Sustained rate: tokens added per second; must be positive.
+         */
+        private double refillPerSecond = 50;
+    }
+}
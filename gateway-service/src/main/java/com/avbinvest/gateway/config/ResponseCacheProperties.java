@@ -0,0 +1,41 @@
+package com.avbinvest.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of the gateway response cache.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * TTL per route id; GET responses of routes not listed here are never cached.
+     */
+    private Map<String, Duration> routes = new HashMap<>();
+
+    /**
+     * Upper bound for the summed body size of all cached responses.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Responses with a larger body are passed through without being cached.
+     */
+    private DataSize maximumEntrySize = DataSize.ofKilobytes(256);
+
+    /**
+     * Path patterns of POST endpoints that only read (e.g. {@code /api/users/getUsersByIds}); they do not evict.
+     */
+    private List<String> readOnlyPosts = new ArrayList<>();
+}
@@ -0,0 +1,73 @@
+package com.avbinvest.gateway.controller;
+
+import com.avbinvest.gateway.config.CompositeProperties;
+import com.avbinvest.gateway.dto.UserWithCompanyDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Endpoints that combine several backend calls into one client round trip.
+ * Backend calls are issued concurrently and never block a gateway event-loop thread.
+ */
+@RestController
+@RequestMapping("/api/composite")
+@Slf4j
+public class CompositeController {
+
+    private final WebClient webClient;
+    private final CompositeProperties properties;
+
+    public CompositeController(WebClient.Builder loadBalancedWebClientBuilder, CompositeProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+    }
+
+    @GetMapping("/users/{userId}/companies/{companyId}")
+    public Mono<UserWithCompanyDTO> getUserWithCompany(@PathVariable Long userId,
+                                                       @PathVariable Long companyId,
+                                                       @RequestParam(defaultValue = "true") boolean includeEmployees) {
+        log.debug("GET /api/composite/users/{}/companies/{} — includeEmployees={}", userId, companyId, includeEmployees);
+
+        Mono<JsonNode> user = get(properties.getUserServiceUri() + "/api/users/{id}", userId);
+        Mono<JsonNode> company = get(properties.getCompanyServiceUri() + "/api/company/{id}?includeEmployees={includeEmployees}",
+                companyId, includeEmployees);
+
+        // zip subscribes to both calls at once and cancels the other one if either fails.
+        return Mono.zip(user, company, UserWithCompanyDTO::new);
+    }
+
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<byte[]> handleBackendError(WebClientResponseException ex) {
+        log.warn("Backend call {} failed with status {}", ex.getRequest() == null ? "" : ex.getRequest().getURI(), ex.getStatusCode());
+        MediaType contentType = ex.getHeaders().getContentType();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatusCode());
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.body(ex.getResponseBodyAsByteArray());
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Void> handleTimeout(TimeoutException ex) {
+        log.warn("Backend call timed out: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+    }
+
+    private Mono<JsonNode> get(String uri, Object... uriVariables) {
+        return webClient.get()
+                .uri(uri, uriVariables)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(properties.getTimeout());
+    }
+}
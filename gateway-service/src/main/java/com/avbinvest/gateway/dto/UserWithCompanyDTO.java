@@ -0,0 +1,9 @@
+package com.avbinvest.gateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Backend responses passed through as they are, so the gateway does not duplicate the service DTOs.
+ */
+public record UserWithCompanyDTO(JsonNode user, JsonNode company) {
+}
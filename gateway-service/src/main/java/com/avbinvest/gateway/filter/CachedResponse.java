@@ -0,0 +1,16 @@
+package com.avbinvest.gateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Duration;
+
+/**
+ * A stored GET response together with the time it may be served for.
+ */
+record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAtMillis, Duration ttl) {
+
+    long ageSeconds(long nowMillis) {
+        return Math.max(0, (nowMillis - storedAtMillis) / 1000);
+    }
+}
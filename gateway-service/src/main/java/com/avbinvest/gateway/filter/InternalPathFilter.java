@@ -0,0 +1,61 @@
+package com.avbinvest.gateway.filter;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Answers {@code 404} for service-to-service endpoints under {@code /internal}, both directly and through
+ * the discovery locator routes ({@code /<service-id>/internal/...}), so they are only reachable inside the mesh.
+ * <p>
+ * The check runs on the decoded path segments with empty segments, {@code .} and {@code ..} resolved, the way
+ * the locator's rewrite and Spring MVC in the backend see them; {@code //internal} or {@code /%69nternal}
+ * do not get through.
+ * </p>
+ */
+@Component
+public class InternalPathFilter implements WebFilter, Ordered {
+
+    private static final String INTERNAL_SEGMENT = "internal";
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (isInternal(exchange.getRequest().getPath().pathWithinApplication())) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    private static boolean isInternal(PathContainer path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment)) continue;
+
+            // valueToMatch() is decoded and without ;parameters; a decoded %2F still separates segments downstream.
+            for (String value : segment.valueToMatch().split("/")) {
+                if (value.isEmpty() || value.equals(".")) continue;
+                if (value.equals("..")) {
+                    segments.pollLast();
+                } else {
+                    segments.addLast(value);
+                }
+            }
+        }
+        // Either /internal/... or /<service-id>/internal/...
+        return segments.stream().limit(2).anyMatch(INTERNAL_SEGMENT::equals);
+    }
+}
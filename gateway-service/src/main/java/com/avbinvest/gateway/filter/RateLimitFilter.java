@@ -0,0 +1,152 @@
+package com.avbinvest.gateway.filter;
+
+import com.avbinvest.gateway.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Admission control for routed requests: every client gets its own {@link TokenBucket} per route,
+ * held in memory only. A request without a token is answered with {@code 429} and {@code Retry-After}
+ * and never reaches the backend.
+ * <p>
+ * Requests handled by the gateway itself ({@code /api/composite/**}) never reach the route filter chain,
+ * so they are admitted by the {@link WebFilter} half of this class, against the limit of route id {@code composite}.
+ * Limits must have a positive capacity and refill rate, otherwise the gateway does not start.
+ * </p>
+ * <p>
+ * Buckets live in a bounded Caffeine map and are dropped after {@code idle-timeout} without requests.
+ * Decisions are counted in {@code gateway.rate.limit.requests} by route and result.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, WebFilter, Ordered {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String COMPOSITE_ROUTE_ID = "composite";
+
+    private static final PathPattern COMPOSITE_PATHS = PathPatternParser.defaultInstance.parse("/api/composite/**");
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        validate("default-limit", properties.getDefaultLimit());
+        properties.getRoutes().forEach((routeId, limit) -> validate("routes." + routeId, limit));
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway-rate-limit-buckets");
+    }
+
+    @Override
+    public int getOrder() {
+        // Reject before the response cache or any backend work.
+        return ResponseCacheFilter.ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        return admit(route.getId(), exchange, chain::filter);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || !COMPOSITE_PATHS.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return admit(COMPOSITE_ROUTE_ID, exchange, chain::filter);
+    }
+
+    private Mono<Void> admit(String routeId, ServerWebExchange exchange, Function<ServerWebExchange, Mono<Void>> next) {
+        RateLimitProperties.Limit limit = properties.getRoutes().getOrDefault(routeId, properties.getDefaultLimit());
+        String client = clientKey(exchange.getRequest());
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(routeId + "|" + client,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+
+        long waitNanos = bucket.tryConsume(now);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(REMAINING_HEADER, String.valueOf(bucket.availableTokens()));
+
+        if (waitNanos == 0) {
+            count(routeId, "admitted");
+            return next.apply(exchange);
+        }
+
+        count(routeId, "rejected");
+        log.debug("Rate limit exceeded for client {} on route {}", client, routeId);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+        return response.setComplete();
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        if (StringUtils.hasText(properties.getClientHeader())) {
+            String client = request.getHeaders().getFirst(properties.getClientHeader());
+            if (StringUtils.hasText(client)) {
+                return client;
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress == null ? "unknown" : remoteAddress.getAddress().getHostAddress();
+    }
+
+    private static void validate(String name, RateLimitProperties.Limit limit) {
+        if (limit.getCapacity() <= 0 || !(limit.getRefillPerSecond() > 0)) {
+            throw new IllegalArgumentException("gateway.rate-limit." + name + " needs a positive capacity and refill-per-second, got "
+                    + limit.getCapacity() + " and " + limit.getRefillPerSecond());
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.rate.limit.requests", "route", routeId, "result", result).increment();
+    }
+}
@@ -0,0 +1,378 @@
+package com.avbinvest.gateway.filter;
+
+import com.avbinvest.gateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * In-memory cache for GET responses of the routes listed in {@code gateway.response-cache.routes}.
+ * <p>
+ * Only complete {@code 200} responses are stored, for the route TTL or a shorter {@code max-age}/{@code s-maxage}
+ * sent by the backend; {@code no-store}, {@code no-cache}, {@code private}, {@code Set-Cookie} and {@code Vary: *}
+ * responses are not stored. Other {@code Vary} headers become part of the cache key. A request with
+ * {@code Cache-Control: no-cache} skips the lookup but refreshes the entry, {@code no-store} bypasses the cache.
+ * </p>
+ * <p>
+ * A POST, PUT, PATCH or DELETE evicts cached responses for its own path, every path below it and
+ * its parent path (e.g. {@code PUT /api/company/5} evicts {@code /api/company/5?...} and {@code /api/company?...}).
+ * Other listings that contain the resource expire with their TTL. Cache keys are indexed by path, so an eviction
+ * only touches the affected keys; POSTs matching {@code gateway.response-cache.read-only-posts} do not evict.
+ * </p>
+ * <p>
+ * Bodies are passed through as they arrive and copied aside only while they stay within
+ * {@code maximum-entry-size}; a larger {@code Content-Length} skips the copy altogether.
+ * </p>
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // Must wrap the response before NettyWriteResponseFilter writes the backend body.
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final Set<HttpMethod> MUTATING_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER);
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*(\\d+)");
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> cache;
+    // Path -> cache keys stored for it; sorted so that the paths below a mutated one form a range. Guarded by itself.
+    private final NavigableMap<String, Set<String>> keysByPath = new TreeMap<>();
+    // Resource -> Vary header names of its cached variants, dropped with its last variant. Written under keysByPath.
+    private final Map<String, List<String>> varyHeadersByResource = new ConcurrentHashMap<>();
+    private final List<PathPattern> readOnlyPosts;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyPosts = properties.getReadOnlyPosts().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((String key, CachedResponse response, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        if (MUTATING_METHODS.contains(request.getMethod()) && !isReadOnlyPost(request)) {
+            String path = request.getPath().value();
+            evict(path);
+            return chain.filter(exchange).doFinally(signal -> evict(path));
+        }
+
+        Duration routeTtl = routeTtl(exchange);
+        RequestCacheControl requestCacheControl = requestCacheControl(request);
+        if (request.getMethod() != HttpMethod.GET || routeTtl == null || requestCacheControl == RequestCacheControl.NO_STORE) {
+            return chain.filter(exchange);
+        }
+
+        String resourceKey = resourceKey(request);
+        if (requestCacheControl != RequestCacheControl.NO_CACHE) {
+            CachedResponse cached = cache.getIfPresent(variantKey(resourceKey, request));
+            if (cached != null) {
+                count("hit");
+                return writeCached(exchange.getResponse(), cached);
+            }
+        }
+
+        count(requestCacheControl == RequestCacheControl.NO_CACHE ? "bypass" : "miss");
+        ServerHttpResponse caching = new CachingResponse(exchange, resourceKey, routeTtl);
+        return chain.filter(exchange.mutate().response(caching).build());
+    }
+
+    private Duration routeTtl(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null) return null;
+
+        Duration ttl = properties.getRoutes().get(route.getId());
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        response.getHeaders().addAll(cached.headers());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(System.currentTimeMillis())));
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void store(String resourceKey, ServerHttpRequest request, HttpStatusCode status, HttpHeaders headers,
+                       byte[] body, Duration ttl) {
+        List<String> vary = headers.getVary();
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name) && !CACHE_STATUS_HEADER.equalsIgnoreCase(name)) {
+                stored.addAll(name, values);
+            }
+        });
+        String key = variantKey(resourceKey, request, vary);
+        // Indexed after the put, so an eviction of the previous entry under this key cannot drop the new one.
+        cache.put(key, new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(stored), body, System.currentTimeMillis(), ttl));
+        synchronized (keysByPath) {
+            keysByPath.computeIfAbsent(pathOf(key), path -> new HashSet<>()).add(key);
+            varyHeadersByResource.put(resourceKey, vary);
+        }
+        // Size eviction runs asynchronously and may have dropped the entry before it was indexed.
+        if (!cache.asMap().containsKey(key)) {
+            unindex(key);
+        }
+    }
+
+    void evict(String mutatedPath) {
+        String parent = mutatedPath.contains("/") ? mutatedPath.substring(0, mutatedPath.lastIndexOf('/')) : mutatedPath;
+        List<String> keys = new ArrayList<>();
+        synchronized (keysByPath) {
+            // '0' follows '/', so this range holds exactly the paths below mutatedPath.
+            Map<String, Set<String>> below = keysByPath.subMap(mutatedPath + "/", true, mutatedPath + "0", false);
+            below.values().forEach(keys::addAll);
+            below.clear();
+            Optional.ofNullable(keysByPath.remove(mutatedPath)).ifPresent(keys::addAll);
+            Optional.ofNullable(keysByPath.remove(parent)).ifPresent(keys::addAll);
+            keys.forEach(key -> varyHeadersByResource.remove(resourceOf(key)));
+        }
+        if (keys.isEmpty()) return;
+
+        cache.invalidateAll(keys);
+    }
+
+    private void unindex(String key) {
+        String resource = resourceOf(key);
+        synchronized (keysByPath) {
+            Set<String> remaining = keysByPath.computeIfPresent(pathOf(key), (path, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+            if (remaining == null || remaining.stream().noneMatch(other -> resourceOf(other).equals(resource))) {
+                varyHeadersByResource.remove(resource);
+            }
+        }
+    }
+
+    /**
+     * Resources whose Vary headers are tracked, after pending expirations and evictions have run.
+     */
+    int trackedResources() {
+        cache.cleanUp();
+        return varyHeadersByResource.size();
+    }
+
+    private boolean isReadOnlyPost(ServerHttpRequest request) {
+        return request.getMethod() == HttpMethod.POST
+                && readOnlyPosts.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    /**
+     * How long the backend allows the response to be stored, capped by the route TTL;
+     * {@code null} if it must not be stored at all.
+     */
+    private static Duration storableFor(HttpStatusCode status, HttpHeaders headers, Duration routeTtl) {
+        if (status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) return null;
+        if (headers.getVary().contains("*")) return null;
+
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache") || cacheControl.contains("private")) {
+            return null;
+        }
+
+        Duration ttl = routeTtl;
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        while (matcher.find()) {
+            Duration maxAge = Duration.ofSeconds(Long.parseLong(matcher.group(2)));
+            if (maxAge.compareTo(ttl) < 0) {
+                ttl = maxAge;
+            }
+        }
+        return ttl.isZero() ? null : ttl;
+    }
+
+    private static RequestCacheControl requestCacheControl(ServerHttpRequest request) {
+        String cacheControl = String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store")) return RequestCacheControl.NO_STORE;
+        if (cacheControl.contains("no-cache") || cacheControl.contains("max-age=0")) return RequestCacheControl.NO_CACHE;
+        return RequestCacheControl.DEFAULT;
+    }
+
+    private static String resourceKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return query == null ? request.getPath().value() : request.getPath().value() + "?" + query;
+    }
+
+    private String variantKey(String resourceKey, ServerHttpRequest request) {
+        return variantKey(resourceKey, request, varyHeadersByResource.getOrDefault(resourceKey, List.of()));
+    }
+
+    private static String variantKey(String resourceKey, ServerHttpRequest request, List<String> vary) {
+        if (vary.isEmpty()) return resourceKey;
+
+        return resourceKey + "|" + vary.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT) + "=" + String.join(",", request.getHeaders().getOrEmpty(name)))
+                .sorted()
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String resourceOf(String key) {
+        int variant = key.indexOf('|');
+        return variant >= 0 ? key.substring(0, variant) : key;
+    }
+
+    private static String pathOf(String key) {
+        int end = key.length();
+        int query = key.indexOf('?');
+        int variant = key.indexOf('|');
+        if (query >= 0) end = Math.min(end, query);
+        if (variant >= 0) end = Math.min(end, variant);
+        return key.substring(0, end);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gateway.response.cache.requests", "result", result).increment();
+    }
+
+    private enum RequestCacheControl {
+        DEFAULT, NO_CACHE, NO_STORE
+    }
+
+    /**
+     * Copies the backend body aside while it is written so that a storable response can be put into the cache.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String resourceKey;
+        private final Duration routeTtl;
+
+        CachingResponse(ServerWebExchange exchange, String resourceKey, Duration routeTtl) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.resourceKey = resourceKey;
+            this.routeTtl = routeTtl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+            Duration ttl = storableFor(status, getHeaders(), routeTtl);
+            if (ttl == null) {
+                return super.writeWith(body);
+            }
+
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            long maximumEntrySize = properties.getMaximumEntrySize().toBytes();
+            if (getHeaders().getContentLength() > maximumEntrySize) {
+                return super.writeWith(body);
+            }
+
+            BodyCopy copy = new BodyCopy(maximumEntrySize);
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(copy::append)
+                    .doOnComplete(() -> {
+                        if (copy.isComplete()) {
+                            store(resourceKey, request, status, getHeaders(), copy.toByteArray(), ttl);
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * Copy of a body that is being written, given up once it grows beyond {@code limit} bytes.
+     */
+    private static class BodyCopy {
+
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BodyCopy(long limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer buffer) {
+            if (bytes == null) return;
+
+            int length = buffer.readableByteCount();
+            if (bytes.size() + length > limit) {
+                bytes = null;
+                return;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.writeBytes(chunk);
+        }
+
+        boolean isComplete() {
+            return bytes != null;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.avbinvest.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the state is one immutable snapshot replaced with compare-and-set,
+ * so concurrent requests of the same client never block each other.
+ */
+class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until the next token is available.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens() + Math.max(0, nowNanos - current.refilledAtNanos()) * tokensPerNano);
+
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.refilledAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    long availableTokens() {
+        return (long) state.get().tokens();
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.avbinvest.gateway.controller;
+
+import com.avbinvest.gateway.config.CompositeProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompositeControllerTest {
+
+    private final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Sinks.Empty<Void> bothInFlight = Sinks.empty();
+
+    @Test
+    void getUserWithCompany_shouldCombineBothResponses() {
+        // Each backend only answers once both calls are in flight, so sequential calls would never complete.
+        WebTestClient client = client(request -> switch (request.url().getHost()) {
+            case "user-service" -> afterBothInFlight(json(HttpStatus.OK, "{\"firstName\":\"John\"}"));
+            case "company-service" -> afterBothInFlight(json(HttpStatus.OK, "{\"name\":\"Acme\"}"));
+            default -> throw new IllegalStateException(request.url().toString());
+        });
+
+        client.get().uri("/api/composite/users/1/companies/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.firstName").isEqualTo("John")
+                .jsonPath("$.company.name").isEqualTo("Acme");
+
+        assertEquals(Set.of("/api/users/1", "/api/company/2"), Set.copyOf(requestedPaths));
+        assertEquals(2, maxInFlight.get(), "calls were not made in parallel");
+    }
+
+    @Test
+    void getUserWithCompany_shouldPassBackendErrorThrough() {
+        WebTestClient client = client(request -> request.url().getHost().equals("user-service")
+                ? json(HttpStatus.NOT_FOUND, "{\"error\":\"UserNotFound\"}")
+                : json(HttpStatus.OK, "{}"));
+
+        client.get().uri("/api/composite/users/1/companies/2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("UserNotFound");
+    }
+
+    private WebTestClient client(Function<ClientRequest, Mono<ClientResponse>> backend) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestedPaths.add(request.url().getPath());
+            return backend.apply(request);
+        });
+        return WebTestClient.bindToController(new CompositeController(builder, new CompositeProperties())).build();
+    }
+
+    private Mono<ClientResponse> afterBothInFlight(Mono<ClientResponse> response) {
+        return Mono.defer(() -> {
+                    int current = inFlight.incrementAndGet();
+                    maxInFlight.accumulateAndGet(current, Math::max);
+                    if (current == 2) {
+                        bothInFlight.tryEmitEmpty();
+                    }
+                    return bothInFlight.asMono().then(response);
+                })
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
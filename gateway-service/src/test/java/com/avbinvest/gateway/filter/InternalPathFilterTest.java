@@ -0,0 +1,81 @@
+package com.avbinvest.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InternalPathFilterTest {
+
+    private final InternalPathFilter filter = new InternalPathFilter();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void shouldReject_internalPathsOnDiscoveryRoutes() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest.put("/user-service/internal/company-cache/1").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void shouldReject_internalPathsAtRoot() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest.delete("/internal/company-cache/1").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void shouldReject_internalPathsBehindEmptySegments() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest.put("/user-service//internal/company-cache/1").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void shouldReject_percentEncodedInternalPaths() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest
+                .method(HttpMethod.PUT, URI.create("/user-service/%69nternal/company-cache/1"))
+                .build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void shouldReject_internalPathsReachedThroughDotSegments() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest.delete("/user-service/api/../internal/company-cache/1").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void shouldForward_publicPaths() {
+        MockServerWebExchange exchange = send(MockServerHttpRequest.get("/api/users/internal-audit").build());
+
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals(1, forwarded.get());
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
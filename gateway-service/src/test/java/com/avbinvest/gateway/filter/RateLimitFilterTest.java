@@ -0,0 +1,147 @@
+package com.avbinvest.gateway.filter;
+
+import com.avbinvest.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class RateLimitFilterTest {
+
+    private static final Route USER_ROUTE = Route.async()
+            .id("user-service")
+            .uri(URI.create("lb://user-service"))
+            .predicate(exchange -> true)
+            .build();
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final GatewayFilterChain backend = exchange -> {
+        backendCalls.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setClientHeader("X-Client-Id");
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(1);
+        properties.getRoutes().put("user-service", limit);
+        properties.getRoutes().put(RateLimitFilter.COMPOSITE_ROUTE_ID, limit);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    void shouldRejectWithRetryAfter_whenBucketIsEmpty() {
+        send("a");
+        send("a");
+        MockServerWebExchange rejected = send("a");
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst("Retry-After"));
+        assertEquals(2, meterRegistry.counter("gateway.rate.limit.requests", "route", "user-service", "result", "admitted").count());
+        assertEquals(1, meterRegistry.counter("gateway.rate.limit.requests", "route", "user-service", "result", "rejected").count());
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerClient() {
+        send("a");
+        send("a");
+
+        MockServerWebExchange other = send("b");
+
+        assertNull(other.getResponse().getStatusCode());
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void shouldAdmitAgain_afterRefill() {
+        send("a");
+        send("a");
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        send("a");
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void shouldLimitCompositeEndpoints_whichBypassTheRoutes() {
+        WebFilterChain handler = exchange -> {
+            backendCalls.incrementAndGet();
+            return Mono.empty();
+        };
+
+        for (int i = 0; i < 3; i++) {
+            sendComposite("a", handler);
+        }
+        MockServerWebExchange rejected = sendComposite("a", handler);
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals(2, meterRegistry.counter("gateway.rate.limit.requests", "route", "composite", "result", "admitted").count());
+    }
+
+    @Test
+    void shouldLeaveOtherUnroutedRequestsToTheRouteFilter() {
+        WebFilterChain handler = exchange -> {
+            backendCalls.incrementAndGet();
+            return Mono.empty();
+        };
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/1")
+                    .header("X-Client-Id", "a"));
+            filter.filter(exchange, handler).block();
+        }
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void shouldRejectNonPositiveRefill_atStartup() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setRefillPerSecond(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitFilter(properties, new SimpleMeterRegistry()));
+    }
+
+    private MockServerWebExchange sendComposite(String client, WebFilterChain handler) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/composite/users/1/companies/2")
+                .header("X-Client-Id", client));
+        filter.filter(exchange, handler).block();
+        return exchange;
+    }
+
+    private MockServerWebExchange send(String client) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/1")
+                .header("X-Client-Id", client));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, USER_ROUTE);
+        filter.filter(exchange, backend).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,173 @@
+package com.avbinvest.gateway.filter;
+
+import com.avbinvest.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ResponseCacheFilterTest {
+
+    private static final Route COMPANY_ROUTE = Route.async()
+            .id("company-service")
+            .uri(URI.create("lb://company-service"))
+            .predicate(exchange -> true)
+            .build();
+
+    private ResponseCacheProperties properties;
+    private ResponseCacheFilter filter;
+    private AtomicInteger backendCalls;
+    private String cacheControl;
+    private String vary;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.getRoutes().put("company-service", Duration.ofSeconds(30));
+        properties.getReadOnlyPosts().add("/api/company/getCompaniesByIds");
+        filter = new ResponseCacheFilter(properties, new SimpleMeterRegistry());
+        backendCalls = new AtomicInteger();
+        cacheControl = null;
+        vary = null;
+    }
+
+    @Test
+    void get_shouldServeSecondRequestFromCache() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/company/1"));
+        MockServerWebExchange second = send(MockServerHttpRequest.get("/api/company/1"));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("body-1", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void get_shouldBypassCache_whenRequestSaysNoStore() {
+        send(MockServerHttpRequest.get("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company/1").header(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void get_shouldNotStore_whenResponseIsPrivate() {
+        cacheControl = "private, max-age=60";
+
+        send(MockServerHttpRequest.get("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company/1"));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void mutation_shouldEvictResourceAndParentListing() {
+        send(MockServerHttpRequest.get("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company?page=0"));
+
+        send(MockServerHttpRequest.put("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company?page=0"));
+
+        assertEquals(5, backendCalls.get());
+    }
+
+    @Test
+    void mutation_shouldEvictPathsBelowIt() {
+        send(MockServerHttpRequest.get("/api/company/1/employees"));
+        send(MockServerHttpRequest.get("/api/company/10"));
+
+        send(MockServerHttpRequest.delete("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company/1/employees"));
+        send(MockServerHttpRequest.get("/api/company/10"));
+
+        assertEquals(4, backendCalls.get());
+    }
+
+    @Test
+    void readOnlyPost_shouldNotEvict() {
+        send(MockServerHttpRequest.get("/api/company?page=0"));
+
+        send(MockServerHttpRequest.post("/api/company/getCompaniesByIds"));
+        send(MockServerHttpRequest.get("/api/company?page=0"));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void get_shouldPassLargeBodyThroughWithoutStoring() {
+        properties.setMaximumEntrySize(DataSize.ofBytes(4));
+        filter = new ResponseCacheFilter(properties, new SimpleMeterRegistry());
+
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/company/1"));
+        send(MockServerHttpRequest.get("/api/company/1"));
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("body-1", first.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void evictedEntries_shouldNotLeaveVaryHeadersBehind() {
+        properties.setMaximumSize(DataSize.ofBytes(256));
+        filter = new ResponseCacheFilter(properties, new SimpleMeterRegistry());
+        vary = HttpHeaders.ACCEPT;
+
+        for (int page = 0; page < 200; page++) {
+            send(MockServerHttpRequest.get("/api/company?page=" + page).header(HttpHeaders.ACCEPT, "application/json"));
+        }
+
+        assertTrue(filter.trackedResources() < 20);
+    }
+
+    @Test
+    void evict_shouldForgetVaryHeadersOfEvictedResources() {
+        vary = HttpHeaders.ACCEPT;
+        send(MockServerHttpRequest.get("/api/company/1").header(HttpHeaders.ACCEPT, "application/json"));
+        assertEquals(1, filter.trackedResources());
+
+        filter.evict("/api/company/1");
+
+        assertEquals(0, filter.trackedResources());
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, COMPANY_ROUTE);
+        filter.filter(exchange, backend()).block();
+        return exchange;
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> {
+            int call = backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            if (cacheControl != null) {
+                response.getHeaders().setCacheControl(cacheControl);
+            }
+            if (vary != null) {
+                response.getHeaders().setVary(List.of(vary));
+            }
+            byte[] body = ("body-" + call).getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+}
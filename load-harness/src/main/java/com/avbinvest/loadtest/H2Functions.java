@@ -0,0 +1,17 @@
+package com.avbinvest.loadtest;
+
+/**
+ * PostgreSQL functions used by native queries of the services, registered in H2 with {@code CREATE ALIAS}.
+ */
+public final class H2Functions {
+
+    private H2Functions() {
+    }
+
+    /**
+     * There is a single user-service instance in the harness, so the outbox dispatcher lock is always free.
+     */
+    public static boolean tryAdvisoryXactLock(long key) {
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package com.avbinvest.loadtest;
+
+import com.avbinvest.loadtest.config.LoadTestProperties;
+import com.avbinvest.loadtest.report.LatencyReport;
+import com.avbinvest.loadtest.workload.LoadGenerator;
+import com.avbinvest.loadtest.workload.Workload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a mixed read/write workload against the gateway and reports latency percentiles per operation.
+ * <p>
+ * {@code java -jar load-harness/target/load-harness-0.0.1-SNAPSHOT.jar --load.rate=500 --load.gate.max-p99=50ms}
+ * </p>
+ * Exits with status 1 if a limit of {@code load.gate} is exceeded, so the run can serve as a regression gate.
+ */
+@Slf4j
+public class LoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = bind(args);
+
+        List<String> violations;
+        try (ServiceMesh mesh = properties.getGatewayUrl() == null ? ServiceMesh.start(properties.getMesh()) : null;
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI gatewayUrl = mesh != null ? mesh.getGatewayUrl() : properties.getGatewayUrl();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.getRequestTimeout())
+                    .executor(executor)
+                    .build();
+
+            Workload workload = new Workload(httpClient, gatewayUrl, properties.getRequestTimeout());
+            workload.seed(properties.getSeedCompanies(), properties.getSeedUsers());
+
+            LatencyReport report = new LoadGenerator(workload, properties).run();
+            report.write(properties.getOutputDir());
+            log.info("Results against {} (written to {}):\n{}", gatewayUrl, properties.getOutputDir().toAbsolutePath(), report.summary());
+
+            violations = report.violations(properties.getGate());
+        }
+
+        violations.forEach(violation -> log.error("Gate failed: {}", violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private static LoadTestProperties bind(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return Binder.get(environment).bindOrCreate(LoadTestProperties.PREFIX, LoadTestProperties.class);
+    }
+}
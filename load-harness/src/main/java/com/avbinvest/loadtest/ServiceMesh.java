@@ -0,0 +1,140 @@
+package com.avbinvest.loadtest;
+
+import com.avbinvest.company.CompanyServiceApplication;
+import com.avbinvest.gateway.GatewayServiceApplication;
+import com.avbinvest.loadtest.config.LoadTestProperties;
+import com.avbinvest.user.UserServiceApplication;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * user-service, company-service and gateway-service started in this JVM on free local ports.
+ * <p>
+ * Each service reads its regular configuration from config-service's files (copied onto the classpath
+ * by the build) instead of a config server, finds the others through Spring Cloud's simple discovery
+ * client instead of Eureka, and stores its data in an in-memory H2 database in PostgreSQL mode.
+ * </p>
+ */
+@Slf4j
+public class ServiceMesh implements AutoCloseable {
+
+    private static final String EXCLUDED_AUTO_CONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration");
+
+    private static final String GATEWAY_EXCLUDED_AUTO_CONFIGURATION = String.join(",", EXCLUDED_AUTO_CONFIGURATION,
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration");
+
+    private static final String H2_URL = "jdbc:h2:mem:%s;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+            + "INIT=CREATE ALIAS IF NOT EXISTS pg_try_advisory_xact_lock FOR '" + H2Functions.class.getName() + ".tryAdvisoryXactLock'";
+
+    // The same in-memory database as H2_URL, opened by the reactive read path of user-service.
+    private static final String H2_R2DBC_URL = "r2dbc:h2:mem:///%s?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @Getter
+    private final URI gatewayUrl;
+
+    private ServiceMesh(LoadTestProperties.Mesh mesh) {
+        int userPort = freePort();
+        int companyPort = freePort();
+        int gatewayPort = freePort();
+
+        Map<String, Object> discovery = Map.of(
+                "spring.cloud.discovery.client.simple.instances.user-service[0].uri", "http://localhost:" + userPort,
+                "spring.cloud.discovery.client.simple.instances.company-service[0].uri", "http://localhost:" + companyPort);
+
+        try {
+            start(CompanyServiceApplication.class, "company-service", companyPort, WebApplicationType.SERVLET,
+                    discovery, servletService("company_db", mesh));
+            Map<String, Object> userService = new LinkedHashMap<>(servletService("user_db", mesh));
+            userService.put("app.reactive-reads.enabled", true);
+            userService.put("app.reactive-reads.url", H2_R2DBC_URL.formatted("user_db"));
+            start(UserServiceApplication.class, "user-service", userPort, WebApplicationType.SERVLET,
+                    discovery, userService);
+            start(GatewayServiceApplication.class, "gateway-service", gatewayPort, WebApplicationType.REACTIVE,
+                    discovery, Map.of(
+                            "spring.autoconfigure.exclude", GATEWAY_EXCLUDED_AUTO_CONFIGURATION,
+                            "gateway.rate-limit.enabled", mesh.isRateLimitEnabled(),
+                            "gateway.response-cache.enabled", mesh.isResponseCacheEnabled()));
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        gatewayUrl = URI.create("http://localhost:" + gatewayPort);
+    }
+
+    public static ServiceMesh start(LoadTestProperties.Mesh mesh) {
+        return new ServiceMesh(mesh);
+    }
+
+    @Override
+    public void close() {
+        // Gateway first, so nothing new reaches the services while they shut down.
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+
+    private void start(Class<?> application, String name, int port, WebApplicationType type,
+                       Map<String, Object> discovery, Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        // Replaces application.properties, which imports the configuration from config-service.
+        properties.put("spring.config.location", "classpath:/config/" + name + ".properties");
+        properties.put("spring.cloud.config.enabled", false);
+        properties.put("spring.cloud.config.import-check.enabled", false);
+        properties.put("spring.cloud.gateway.enabled", type == WebApplicationType.REACTIVE);
+        properties.put("spring.autoconfigure.exclude", EXCLUDED_AUTO_CONFIGURATION);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("eureka.client.enabled", false);
+        properties.put("server.port", port);
+        properties.putAll(discovery);
+        properties.putAll(overrides);
+
+        // Passed as command line arguments: they take precedence over the configuration files.
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        long started = System.nanoTime();
+        contexts.add(new SpringApplicationBuilder(application).web(type).run(args));
+        log.info("Started {} on port {} in {} ms", name, port, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static Map<String, Object> servletService(String database, LoadTestProperties.Mesh mesh) {
+        Map<String, Object> properties = new LinkedHashMap<>(Map.of(
+                "spring.datasource.url", H2_URL.formatted(database),
+                "spring.datasource.driver-class-name", "org.h2.Driver",
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "app.virtual-threads.enabled", mesh.isVirtualThreadsEnabled()));
+        if (mesh.getTomcatMaxThreads() != null) {
+            properties.put("server.tomcat.threads.max", mesh.getTomcatMaxThreads());
+        }
+        return properties;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free local port", e);
+        }
+    }
+}
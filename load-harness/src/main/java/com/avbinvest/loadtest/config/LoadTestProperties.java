@@ -0,0 +1,101 @@
+package com.avbinvest.loadtest.config;
+
+import com.avbinvest.loadtest.workload.Operation;
+import lombok.Data;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, bound from {@code --load.*} arguments.
+ */
+@Data
+public class LoadTestProperties {
+
+    public static final String PREFIX = "load";
+
+    /**
+     * Gateway to put under load. When not set, user-service, company-service and gateway-service
+     * are started in this JVM on in-memory databases.
+     */
+    private URI gatewayUrl;
+
+    /**
+     * Requests per second. Requests are started on schedule whether or not earlier ones have completed,
+     * and latency is measured from the scheduled start, so a stalled system cannot hide its own queueing.
+     */
+    private int rate = 200;
+
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+
+    private int maxInFlight = 1000;
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    private int seedCompanies = 50;
+    private int seedUsers = 2000;
+
+    /**
+     * Relative weights of the operations; an operation with weight 0 is not run.
+     */
+    private Map<Operation, Integer> mix = new EnumMap<>(Map.ofEntries(
+            Map.entry(Operation.GET_USER, 30),
+            Map.entry(Operation.GET_USER_REACTIVE, 5),
+            Map.entry(Operation.LIST_USERS, 10),
+            Map.entry(Operation.LIST_USERS_WITHOUT_TOTAL, 5),
+            Map.entry(Operation.LIST_USERS_REACTIVE, 5),
+            Map.entry(Operation.GET_COMPANY, 15),
+            Map.entry(Operation.LIST_COMPANIES, 5),
+            Map.entry(Operation.LIST_COMPANIES_WITHOUT_TOTAL, 5),
+            Map.entry(Operation.CREATE_USER, 10),
+            Map.entry(Operation.UPDATE_USER, 10)));
+
+    /**
+     * Directory for the percentile distribution of every operation (HdrHistogram {@code .hgrm} format).
+     */
+    private Path outputDir = Path.of("target", "load-results");
+
+    private final Mesh mesh = new Mesh();
+    private final Gate gate = new Gate();
+
+    @Data
+    public static class Mesh {
+
+        /**
+         * All requests come from one client, so the gateway token buckets would mostly measure 429s.
+         */
+        private boolean rateLimitEnabled = false;
+
+        private boolean responseCacheEnabled = true;
+
+        /**
+         * Handles requests of user-service and company-service on virtual threads ({@code app.virtual-threads.enabled});
+         * run the same workload with and without it to compare.
+         */
+        private boolean virtualThreadsEnabled = false;
+
+        /**
+         * Caps the Tomcat request threads of user-service and company-service ({@code server.tomcat.threads.max}),
+         * so that the blocking read path runs out of threads at a rate the machine can still serve.
+         * Tomcat's default of 200 when unset.
+         */
+        private Integer tomcatMaxThreads;
+    }
+
+    /**
+     * Limits that fail the run (exit code 1), for use as a regression gate.
+     */
+    @Data
+    public static class Gate {
+
+        /**
+         * Upper bound for the p99 latency of every operation; not checked when unset.
+         */
+        private Duration maxP99;
+
+        private double maxErrorRate = 0.01;
+    }
+}
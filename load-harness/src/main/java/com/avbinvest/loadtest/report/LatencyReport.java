@@ -0,0 +1,116 @@
+package com.avbinvest.loadtest.report;
+
+import com.avbinvest.loadtest.config.LoadTestProperties;
+import com.avbinvest.loadtest.workload.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, recorded concurrently while the load runs.
+ * Latencies are kept in microseconds with three significant digits.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Duration measured;
+
+    public LatencyReport(Collection<Operation> operations, Duration measured) {
+        for (Operation operation : operations) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        this.measured = measured;
+    }
+
+    public void record(Operation operation, long latencyNanos, boolean success) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public long count(Operation operation) {
+        return histograms.get(operation).getTotalCount();
+    }
+
+    public long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    public Duration percentile(Operation operation, double percentile) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(histograms.get(operation).getValueAtPercentile(percentile)));
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT, "%-28s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        histograms.forEach((operation, histogram) -> summary.append(String.format(Locale.ROOT,
+                "%-28s %8d %8.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), histogram.getTotalCount() * 1000.0 / measured.toMillis(),
+                errors(operation),
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI)));
+        return summary.toString();
+    }
+
+    /**
+     * Writes {@code summary.txt} and the percentile distribution of every operation ({@code <operation>.hgrm},
+     * in milliseconds), which can be plotted with HdrHistogram's plotter.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary());
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Returns the limits of the gate this run exceeds; empty if it passes.
+     */
+    public List<String> violations(LoadTestProperties.Gate gate) {
+        List<String> violations = new ArrayList<>();
+        for (Operation operation : histograms.keySet()) {
+            long count = count(operation);
+            if (count == 0) {
+                violations.add(operation + " was not measured");
+                continue;
+            }
+            double errorRate = (double) errors(operation) / count;
+            if (errorRate > gate.getMaxErrorRate()) {
+                violations.add(String.format(Locale.ROOT, "%s error rate %.4f exceeds %.4f", operation, errorRate, gate.getMaxErrorRate()));
+            }
+            Duration p99 = percentile(operation, 99);
+            if (gate.getMaxP99() != null && p99.compareTo(gate.getMaxP99()) > 0) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.2f ms exceeds %d ms",
+                        operation, p99.toNanos() / 1_000_000.0, gate.getMaxP99().toMillis()));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,77 @@
+package com.avbinvest.loadtest.workload;
+
+import com.avbinvest.loadtest.config.LoadTestProperties;
+import com.avbinvest.loadtest.report.LatencyReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: requests are started at a fixed rate on a precomputed schedule, independently of
+ * responses, and each latency is measured from the request's scheduled start. Time spent waiting
+ * for an in-flight slot therefore counts as latency instead of silently lowering the rate
+ * (no coordinated omission).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadGenerator {
+
+    private final Workload workload;
+    private final LoadTestProperties properties;
+
+    public LatencyReport run() throws InterruptedException {
+        OperationMix mix = new OperationMix(properties.getMix());
+        LatencyReport report = new LatencyReport(mix.operations(), properties.getDuration());
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+        log.info("Running {} req/s: {} warm-up, {} measured", properties.getRate(), properties.getWarmup(), properties.getDuration());
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * 1_000_000_000L / properties.getRate();
+            if (scheduled >= end) {
+                break;
+            }
+            waitUntil(scheduled);
+
+            Operation operation = mix.next();
+            boolean measured = scheduled >= measureFrom;
+            inFlight.acquire();
+            execute(operation).whenComplete((response, error) -> {
+                if (measured) {
+                    report.record(operation, System.nanoTime() - scheduled, error == null && isSuccess(response));
+                }
+                inFlight.release();
+            });
+        }
+
+        // Requests time out after request-timeout, so this does not wait forever.
+        inFlight.acquire(properties.getMaxInFlight());
+        return report;
+    }
+
+    private CompletableFuture<HttpResponse<Void>> execute(Operation operation) {
+        try {
+            return workload.execute(operation);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2 || response.statusCode() == 304;
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.avbinvest.loadtest.workload;
+
+/**
+ * Requests of the mixed workload, all sent through the gateway.
+ * <p>
+ * The {@code _WITHOUT_TOTAL} variants request the same pages as their counterparts with {@code withTotal=false},
+ * so their latencies side by side show what the count query costs. The {@code _REACTIVE} variants read the same
+ * users through user-service's non-blocking path ({@code /api/users/reactive}) for a comparison with the servlet path.
+ * </p>
+ */
+public enum Operation {
+    GET_USER,
+    GET_USER_REACTIVE,
+    LIST_USERS,
+    LIST_USERS_WITHOUT_TOTAL,
+    LIST_USERS_REACTIVE,
+    GET_COMPANY,
+    LIST_COMPANIES,
+    LIST_COMPANIES_WITHOUT_TOTAL,
+    CREATE_USER,
+    UPDATE_USER
+}
@@ -0,0 +1,49 @@
+package com.avbinvest.loadtest.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks operations at random in proportion to their weights.
+ */
+public class OperationMix {
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    public OperationMix(Map<Operation, Integer> weights) {
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            int weight = entry.getValue() == null ? 0 : entry.getValue();
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + entry.getKey() + " must not be negative");
+            }
+            if (weight > 0) {
+                total += weight;
+                operations.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix must contain at least one operation with a positive weight");
+        }
+        cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public List<Operation> operations() {
+        return List.copyOf(operations);
+    }
+
+    public Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,143 @@
+package com.avbinvest.loadtest.workload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds and sends the requests of each {@link Operation} against the gateway, on data created by {@link #seed}.
+ */
+@Slf4j
+public class Workload {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final HttpClient httpClient;
+    private final URI gatewayUrl;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Phone numbers must be unique; "+7" followed by ten digits.
+    private final AtomicLong phoneNumbers = new AtomicLong(79_000_000_000L);
+    private final AtomicLong updates = new AtomicLong();
+
+    private long[] companyIds;
+    private long[] userIds;
+
+    public Workload(HttpClient httpClient, URI gatewayUrl, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.gatewayUrl = gatewayUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Creates the companies and users the operations read and update; users are spread over the companies.
+     */
+    public void seed(int companies, int users) throws IOException, InterruptedException {
+        List<Long> createdCompanies = new ArrayList<>(companies);
+        for (int i = 0; i < companies; i++) {
+            JsonNode company = post("/api/company", Map.of("name", "Company " + i, "budget", BigDecimal.valueOf(1_000_000 + i)));
+            createdCompanies.add(company.get("id").asLong());
+        }
+        companyIds = createdCompanies.stream().mapToLong(Long::longValue).toArray();
+
+        List<Long> createdUsers = new ArrayList<>(users);
+        for (int from = 0; from < users; from += SEED_BATCH_SIZE) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(users, from + SEED_BATCH_SIZE); i++) {
+                batch.add(newUser(companyIds[i % companyIds.length]));
+            }
+            for (JsonNode user : post("/api/users/bulk", batch)) {
+                createdUsers.add(user.get("id").asLong());
+            }
+        }
+        userIds = createdUsers.stream().mapToLong(Long::longValue).toArray();
+
+        log.info("Seeded {} companies and {} users", companyIds.length, userIds.length);
+    }
+
+    public CompletableFuture<HttpResponse<Void>> execute(Operation operation) {
+        return httpClient.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET_USER -> get("/api/users/" + pick(userIds, random));
+            case GET_USER_REACTIVE -> get("/api/users/reactive/" + pick(userIds, random));
+            case LIST_USERS -> get("/api/users?page=" + random.nextInt(pages(userIds)) + "&size=" + PAGE_SIZE);
+            case LIST_USERS_WITHOUT_TOTAL -> get("/api/users?page=" + random.nextInt(pages(userIds)) + "&size=" + PAGE_SIZE
+                    + "&withTotal=false");
+            case LIST_USERS_REACTIVE -> get("/api/users/reactive?page=" + random.nextInt(pages(userIds)) + "&size=" + PAGE_SIZE);
+            case GET_COMPANY -> get("/api/company/" + pick(companyIds, random));
+            case LIST_COMPANIES -> get("/api/company?page=" + random.nextInt(pages(companyIds)) + "&size=" + PAGE_SIZE);
+            case LIST_COMPANIES_WITHOUT_TOTAL -> get("/api/company?page=" + random.nextInt(pages(companyIds)) + "&size=" + PAGE_SIZE
+                    + "&withTotal=false");
+            case CREATE_USER -> send("POST", "/api/users", newUser(pick(companyIds, random)));
+            case UPDATE_USER -> send("PUT", "/api/users/" + pick(userIds, random),
+                    Map.of("lastName", "Updated" + updates.incrementAndGet()));
+        };
+    }
+
+    private Map<String, Object> newUser(long companyId) {
+        long phoneNumber = phoneNumbers.incrementAndGet();
+        Map<String, Object> user = new HashMap<>();
+        user.put("firstName", "Load");
+        user.put("lastName", "User" + phoneNumber);
+        user.put("phoneNumber", "+" + phoneNumber);
+        user.put("companyId", companyId);
+        return user;
+    }
+
+    private JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(send("POST", path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(gatewayUrl.resolve(path))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(gatewayUrl.resolve(path))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private static long pick(long[] ids, ThreadLocalRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static int pages(long[] ids) {
+        return Math.max(1, ids.length / PAGE_SIZE);
+    }
+}
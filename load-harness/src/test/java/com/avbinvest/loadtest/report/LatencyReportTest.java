@@ -0,0 +1,71 @@
+package com.avbinvest.loadtest.report;
+
+import com.avbinvest.loadtest.config.LoadTestProperties;
+import com.avbinvest.loadtest.workload.Operation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyReportTest {
+
+    @Test
+    void percentilesAndErrors_areTrackedPerOperation() {
+        LatencyReport report = new LatencyReport(List.of(Operation.GET_USER, Operation.CREATE_USER), Duration.ofSeconds(10));
+
+        for (int i = 1; i <= 100; i++) {
+            report.record(Operation.GET_USER, Duration.ofMillis(i).toNanos(), true);
+        }
+        report.record(Operation.CREATE_USER, Duration.ofMillis(5).toNanos(), false);
+
+        assertThat(report.count(Operation.GET_USER)).isEqualTo(100);
+        assertThat(report.errors(Operation.GET_USER)).isZero();
+        assertThat(report.percentile(Operation.GET_USER, 50).toMillis()).isEqualTo(50);
+        assertThat(report.percentile(Operation.GET_USER, 99).toMillis()).isEqualTo(99);
+        assertThat(report.errors(Operation.CREATE_USER)).isEqualTo(1);
+    }
+
+    @Test
+    void violations_whenP99OrErrorRateExceedGate() {
+        LatencyReport report = new LatencyReport(List.of(Operation.GET_USER, Operation.UPDATE_USER), Duration.ofSeconds(10));
+        for (int i = 0; i < 100; i++) {
+            report.record(Operation.GET_USER, Duration.ofMillis(200).toNanos(), true);
+            report.record(Operation.UPDATE_USER, Duration.ofMillis(10).toNanos(), i >= 5);
+        }
+
+        LoadTestProperties.Gate gate = new LoadTestProperties.Gate();
+        gate.setMaxP99(Duration.ofMillis(100));
+        gate.setMaxErrorRate(0.01);
+
+        assertThat(report.violations(gate))
+                .hasSize(2)
+                .anySatisfy(violation -> assertThat(violation).startsWith("GET_USER p99"))
+                .anySatisfy(violation -> assertThat(violation).startsWith("UPDATE_USER error rate"));
+    }
+
+    @Test
+    void violations_emptyWithinGate() {
+        LatencyReport report = new LatencyReport(List.of(Operation.GET_COMPANY), Duration.ofSeconds(10));
+        report.record(Operation.GET_COMPANY, Duration.ofMillis(20).toNanos(), true);
+
+        LoadTestProperties.Gate gate = new LoadTestProperties.Gate();
+        gate.setMaxP99(Duration.ofMillis(100));
+
+        assertThat(report.violations(gate)).isEmpty();
+    }
+
+    @Test
+    void write_createsSummaryAndHistogramPerOperation(@TempDir Path directory) throws Exception {
+        LatencyReport report = new LatencyReport(List.of(Operation.LIST_USERS), Duration.ofSeconds(10));
+        report.record(Operation.LIST_USERS, Duration.ofMillis(3).toNanos(), true);
+
+        report.write(directory);
+
+        assertThat(directory.resolve("summary.txt")).content().contains("LIST_USERS");
+        assertThat(directory.resolve("list_users.hgrm")).exists();
+    }
+}
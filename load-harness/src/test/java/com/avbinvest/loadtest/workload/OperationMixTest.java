@@ -0,0 +1,35 @@
+package com.avbinvest.loadtest.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperationMixTest {
+
+    @Test
+    void next_followsWeightsAndSkipsZeroWeights() {
+        OperationMix mix = new OperationMix(new EnumMap<>(Map.of(
+                Operation.GET_USER, 3,
+                Operation.CREATE_USER, 1,
+                Operation.UPDATE_USER, 0)));
+
+        Map<Operation, Integer> picked = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            picked.merge(mix.next(), 1, Integer::sum);
+        }
+
+        assertThat(mix.operations()).containsExactly(Operation.GET_USER, Operation.CREATE_USER);
+        assertThat(picked).containsOnlyKeys(Operation.GET_USER, Operation.CREATE_USER);
+        assertThat(picked.get(Operation.GET_USER) / (double) picked.get(Operation.CREATE_USER)).isBetween(2.7, 3.3);
+    }
+
+    @Test
+    void constructor_rejectsMixWithoutOperations() {
+        assertThatThrownBy(() -> new OperationMix(Map.of(Operation.GET_USER, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
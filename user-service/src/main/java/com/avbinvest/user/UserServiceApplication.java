@@ -2,10 +2,18 @@ package com.avbinvest.user;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// JPA stays the primary data access; the reactive read path builds its own R2DBC pool,
+// because a ConnectionFactory bean would switch off the DataSource auto-configuration.
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableFeignClients
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,216 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.config.CompanyCacheProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.exception.CompanyNotFoundException;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import com.avbinvest.user.util.CompanyProjectionConverter;
+import com.avbinvest.user.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process cache in front of the local {@code company_projection} table,
+ * which in turn is backed by {@link CompanyClient}.
+ * <p>
+ * Entries are evicted by size (W-TinyLFU) and expire after the configured TTL.
+ * Company-service pushes every company change ({@link #put}) and deletion ({@link #evict}),
+ * which update both the projection and this cache. A miss is served from the projection; only companies
+ * the projection does not know yet are fetched remotely, and then written to the projection.
+ * An expired entry is therefore reloaded from the projection, so the TTL alone does not repair a lost
+ * notification: {@link CompanyProjectionRebuilder} reconciles the projection with company-service every
+ * {@code company-cache.reconcile-interval}, which bounds such staleness to that interval plus the TTL.
+ * Hit/miss statistics are published under the {@code cache.*} meters with {@code cache=companies}.
+ * </p>
+ * <p>
+ * Misses are loaded outside the cache through a {@link SingleFlight}, so concurrent lookups of the same
+ * company, or of the same set of companies, share one load without holding a lock of the cache while
+ * company-service answers. A loaded result is only cached if no company was pushed while it was in flight
+ * (see {@link #generation()}), and it is only written to the projection where that does not hold a newer
+ * version of the company, so a slow remote read never overwrites a push or a reconciliation.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CompanyCache {
+
+    private final CompanyClient companyClient;
+    private final CompanyProjectionRepository projectionRepository;
+    private final Cache<Long, CompanyDTO> cache;
+    private final SingleFlight<Long, CompanyDTO> lookups = new SingleFlight<>();
+    private final SingleFlight<List<Long>, Map<Long, CompanyDTO>> bulkLookups = new SingleFlight<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CompanyCache(CompanyClient companyClient, CompanyProjectionRepository projectionRepository,
+                        CompanyCacheProperties properties, MeterRegistry meterRegistry) {
+        this.companyClient = companyClient;
+        this.projectionRepository = projectionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "companies");
+    }
+
+    /**
+     * Returns the company with the given id, loading it from the projection or company-service on a miss.
+     *
+     * @throws CompanyNotFoundException if company-service does not know the company.
+     */
+    public CompanyDTO get(Long companyId) {
+        CompanyDTO cached = cache.getIfPresent(companyId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        CompanyDTO loaded = lookups.execute(companyId, () -> loadCompany(companyId));
+        if (loaded != null) {
+            putAll(Map.of(companyId, loaded), loadedAt);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns all known companies among the given ids. Missing entries are loaded from the projection
+     * with one query and the rest from company-service with a single bulk request;
+     * unknown ids are absent from the result.
+     */
+    public Map<Long, CompanyDTO> getAll(Collection<Long> companyIds) {
+        Map<Long, CompanyDTO> result = new HashMap<>(cache.getAllPresent(companyIds));
+
+        List<Long> missing = companyIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .distinct()
+                .sorted()
+                .toList();
+
+        if (!missing.isEmpty()) {
+            long loadedAt = generation.get();
+            Map<Long, CompanyDTO> loaded = bulkLookups.execute(missing, () -> loadCompanies(missing));
+            putAll(loaded, loadedAt);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached companies among the given ids without loading anything; never blocks.
+     */
+    public Map<Long, CompanyDTO> getAllPresent(Collection<Long> companyIds) {
+        return cache.getAllPresent(companyIds);
+    }
+
+    /**
+     * Number of pushes applied so far. Callers that load companies themselves read it before loading
+     * and hand it to {@link #putAll(Map, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches companies loaded elsewhere (e.g. by the reactive read path) in memory only.
+     * <p>
+     * The companies are dropped if a push was applied since {@code loadedAt}, as they may predate it,
+     * and never replace an entry that is already cached.
+     * </p>
+     *
+     * @param loadedAt {@link #generation()} read before the companies were loaded.
+     */
+    public void putAll(Map<Long, CompanyDTO> companies, long loadedAt) {
+        companies.forEach((id, company) -> cache.asMap().compute(id, (key, current) ->
+                current == null && generation.get() == loadedAt ? company : current));
+    }
+
+    /**
+     * Applies a created or updated company pushed by company-service, unless a newer version of it is cached.
+     */
+    public void put(CompanyDTO company) {
+        storeProjections(List.of(company));
+        generation.incrementAndGet();
+        cache.asMap().merge(company.getId(), company, (current, pushed) -> isNewer(current, pushed) ? current : pushed);
+        log.info("[CompanyCache] Updated company {}", company.getId());
+    }
+
+    /**
+     * Forgets a deleted company.
+     */
+    public void evict(Long companyId) {
+        projectionRepository.deleteById(companyId);
+        generation.incrementAndGet();
+        cache.invalidate(companyId);
+        log.info("[CompanyCache] Evicted company {}", companyId);
+    }
+
+    private CompanyDTO loadCompany(Long companyId) {
+        return projectionRepository.findById(companyId)
+                .map(CompanyProjectionConverter::convertProjectionToDto)
+                .orElseGet(() -> {
+                    CompanyDTO company = fetchCompany(companyId);
+                    if (company != null) {
+                        storeProjections(List.of(company));
+                    }
+                    return company;
+                });
+    }
+
+    private Map<Long, CompanyDTO> loadCompanies(List<Long> companyIds) {
+        Map<Long, CompanyDTO> result = projectionRepository.findAllById(companyIds).stream()
+                .map(CompanyProjectionConverter::convertProjectionToDto)
+                .collect(Collectors.toMap(CompanyDTO::getId, Function.identity()));
+
+        List<Long> unknown = companyIds.stream().filter(id -> !result.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            Map<Long, CompanyDTO> fetched = fetchCompanies(unknown);
+            storeProjections(fetched.values());
+            result.putAll(fetched);
+        }
+        return result;
+    }
+
+    // The projection is an optimisation: failing to write it must not fail the read.
+    private void storeProjections(Collection<CompanyDTO> companies) {
+        if (companies.isEmpty()) return;
+
+        Instant now = Instant.now();
+        try {
+            companies.forEach(company ->
+                    projectionRepository.upsertUnlessNewer(CompanyProjectionConverter.convertDtoToProjection(company, now)));
+        } catch (DataAccessException ex) {
+            log.warn("[CompanyCache] Failed to store {} companies in the projection: {}", companies.size(), ex.getMessage());
+        }
+    }
+
+    private static boolean isNewer(CompanyDTO current, CompanyDTO pushed) {
+        return current.getVersion() != null && pushed.getVersion() != null && current.getVersion() > pushed.getVersion();
+    }
+
+    private CompanyDTO fetchCompany(Long companyId) {
+        try {
+            return companyClient.getCompanyById(companyId, false);
+        } catch (FeignException.NotFound ex) {
+            log.warn("[CompanyCache] Company with ID {} not found", companyId);
+            throw new CompanyNotFoundException(companyId);
+        }
+    }
+
+    private Map<Long, CompanyDTO> fetchCompanies(List<Long> companyIds) {
+        return companyClient.getCompaniesByIds(companyIds).stream()
+                .collect(Collectors.toMap(CompanyDTO::getId, Function.identity(), (first, second) -> first));
+    }
+}
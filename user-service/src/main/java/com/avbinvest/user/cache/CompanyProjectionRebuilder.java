@@ -0,0 +1,63 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+import static com.avbinvest.user.util.CompanyProjectionConverter.convertDtoToProjection;
+
+/**
+ * Rebuilds the {@code company_projection} table from company-service once the application is ready,
+ * and again every {@code company-cache.reconcile-interval} to repair changes whose push notification got lost.
+ * <p>
+ * All companies are read with keyset pagination and upserted, except where a change event meanwhile
+ * stored a newer version; rows that were not touched by the rebuild (nor by a change event meanwhile)
+ * belong to companies deleted while user-service was down and are removed. If company-service is unreachable the existing rows are kept and reads fall back
+ * to remote lookups for companies the projection does not know yet.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompanyProjectionRebuilder {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final CompanyClient companyClient;
+    private final CompanyProjectionRepository projectionRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${company-cache.reconcile-interval:PT15M}",
+            initialDelayString = "${company-cache.reconcile-interval:PT15M}")
+    public void rebuild() {
+        Instant startedAt = Instant.now();
+        long synced = 0;
+        String cursor = null;
+
+        try {
+            do {
+                CursorPageDTO<CompanyDTO> page = companyClient.scrollCompanies(cursor, PAGE_SIZE, false);
+                Instant now = Instant.now();
+                page.getContent().forEach(company ->
+                        projectionRepository.upsertUnlessNewer(convertDtoToProjection(company, now)));
+                synced += page.getContent().size();
+                cursor = page.getNext();
+            } while (cursor != null);
+        } catch (RuntimeException ex) {
+            log.warn("[CompanyProjection] Rebuild stopped after {} companies, keeping existing rows: {}", synced, ex.getMessage());
+            return;
+        }
+
+        int removed = projectionRepository.deleteBySyncedAtBefore(startedAt);
+        log.info("[CompanyProjection] Rebuilt with {} companies, removed {} stale rows", synced, removed);
+    }
+}
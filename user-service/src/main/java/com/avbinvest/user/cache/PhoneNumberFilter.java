@@ -0,0 +1,129 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.config.PhoneNumberFilterProperties;
+import com.avbinvest.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the phone numbers stored in {@code users}.
+ * <p>
+ * A negative answer from {@link #mightContain(String)} means the number is definitely not taken,
+ * so the uniqueness check can skip the database. A positive answer may be a false positive
+ * and must be confirmed with a query. The unique index on {@code phone_number} stays the final
+ * arbiter for concurrent inserts that both pass the check.
+ * </p>
+ * <p>
+ * The filter is filled once the application is ready; until then every lookup reports a possible
+ * match. Numbers of deleted or updated users are never removed, which only adds false positives.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PhoneNumberFilter {
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile boolean ready;
+
+    public PhoneNumberFilter(UserRepository userRepository, PhoneNumberFilterProperties properties) {
+        this.userRepository = userRepository;
+
+        long expected = Math.max(1, properties.getExpectedInsertions());
+        double fpp = properties.getFalsePositiveRate();
+        long optimalBits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    /**
+     * Loads every stored phone number. Writes that happen meanwhile go into the same bit array,
+     * so nothing is lost; lookups keep falling back to the database until the load completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> phoneNumbers = userRepository.streamAllPhoneNumbers()) {
+            phoneNumbers.forEach(phoneNumber -> {
+                put(phoneNumber);
+                count.incrementAndGet();
+            });
+        }
+        ready = true;
+        log.info("[PhoneNumberFilter] Loaded {} phone numbers into {} bits with {} hashes", count, bitCount, hashCount);
+    }
+
+    public void put(String phoneNumber) {
+        if (phoneNumber == null) return;
+
+        long hash = hash(phoneNumber);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) break;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * @return {@code false} only if the number was never stored; {@code true} if it may have been,
+     * or if the filter is not loaded yet.
+     */
+    public boolean mightContain(String phoneNumber) {
+        if (!ready) return true;
+
+        long hash = hash(phoneNumber);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    private long index(int combinedHash) {
+        return Math.floorMod((long) combinedHash, bitCount);
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer to spread the bits across both halves.
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,30 @@
+package com.avbinvest.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process company cache. The reconciliation interval itself is read by
+ * {@code @Scheduled} from {@code company-cache.reconcile-interval} (ISO-8601, e.g. {@code PT15M}).
+ */
+@Data
+@ConfigurationProperties(prefix = "company-cache")
+public class CompanyCacheProperties {
+
+    /**
+     * Maximum number of companies kept in the cache before eviction kicks in.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a cached company stays valid after it was loaded.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * How often the company projection is reconciled with company-service.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,32 @@
+package com.avbinvest.user.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feign runs on the pooled Apache HttpClient 5 transport ({@code spring.cloud.openfeign.httpclient.hc5.enabled});
+ * pool size, timeouts and compression are set in the service properties.
+ * Every call is timed as {@code http.client.requests} by the observation capability that Spring Cloud OpenFeign
+ * registers when {@code feign-micrometer} is on the classpath.
+ */
+@Configuration
+public class FeignClientConfig {
+
+    /**
+     * Publishes {@code httpcomponents.httpclient.pool.*} gauges (leased, available and pending connections)
+     * of the connection pool shared by all Feign clients.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
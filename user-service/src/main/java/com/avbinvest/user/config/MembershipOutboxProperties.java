@@ -0,0 +1,42 @@
+package com.avbinvest.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the membership outbox dispatcher. The poll interval itself is read by
+ * {@code @Scheduled} from {@code membership-outbox.poll-interval} (ISO-8601, e.g. {@code PT0.5S}).
+ */
+@Data
+@ConfigurationProperties(prefix = "membership-outbox")
+public class MembershipOutboxProperties {
+
+    /**
+     * Maximum number of outbox events read per dispatch run.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay before retrying a company after its first failed delivery; doubled on every further failure.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the per-company retry delay.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Failed deliveries after which events are dead-lettered; with the default backoff about three and a half hours.
+     * Rejections that retrying cannot fix (4xx other than 404, 408 and 429) are dead-lettered at once.
+     */
+    private int maxAttempts = 50;
+
+    /**
+     * How long claimed events are held back from other dispatchers; must exceed the time needed to deliver
+     * one batch. Events of a dispatcher that dies are redelivered after it.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(5);
+}
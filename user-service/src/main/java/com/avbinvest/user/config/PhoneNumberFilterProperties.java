@@ -0,0 +1,22 @@
+package com.avbinvest.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the in-memory Bloom filter over registered phone numbers.
+ */
+@Data
+@ConfigurationProperties(prefix = "phone-filter")
+public class PhoneNumberFilterProperties {
+
+    /**
+     * Number of phone numbers the filter is sized for; beyond it the false-positive rate grows.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target false-positive probability at {@link #expectedInsertions}.
+     */
+    private double falsePositiveRate = 0.01;
+}
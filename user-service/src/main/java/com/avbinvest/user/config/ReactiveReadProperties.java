@@ -0,0 +1,34 @@
+package com.avbinvest.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the reactive (R2DBC + WebClient) read path served under {@code /api/users/reactive}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reactive-reads")
+public class ReactiveReadProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * R2DBC url of the users database; derived from {@code spring.datasource.url} when empty.
+     */
+    private String url;
+
+    /**
+     * Connections of the R2DBC pool. Unlike Hikari connections they are not held for the duration of a request,
+     * so a small pool serves many concurrent requests.
+     */
+    private int poolMaxSize = 20;
+
+    private String companyServiceUri = "http://company-service";
+
+    /**
+     * Upper bound for a call to company-service.
+     */
+    private Duration companyTimeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,30 @@
+package com.avbinvest.user.config;
+
+import com.avbinvest.user.logging.RequestLoggingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the sampled request log for the MVC controllers.
+ * <p>
+ * The properties are enabled here rather than left to the properties scan so that {@code @WebMvcTest}
+ * slices, which pick up this configurer but skip the scan, still get them.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LoggingProperties.class)
+public class RequestLoggingConfig implements WebMvcConfigurer {
+
+    private final LoggingProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.getRequests().isEnabled()) {
+            registry.addInterceptor(new RequestLoggingInterceptor(properties.getRequests()));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.avbinvest.user.controller;
+
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.dto.CompanyDTO;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Internal endpoints used by company-service to push company changes
+ * into the local projection and cache.
+ * <p>
+ * They live outside {@code /api/users} so the gateway route does not expose them;
+ * the gateway also rejects {@code /internal/**} on its discovery routes.
+ * </p>
+ */
+@RestController
+@RequestMapping("/internal/company-cache")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+public class CompanyCacheController {
+
+    private final CompanyCache companyCache;
+
+    @PutMapping("/{companyId}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public void putCompany(@PathVariable @Min(1) Long companyId, @RequestBody CompanyDTO company) {
+        log.debug("PUT /internal/company-cache/{} — putCompany", companyId);
+        company.setId(companyId);
+        companyCache.put(company);
+    }
+
+    @DeleteMapping("/{companyId}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public void evictCompany(@PathVariable @Min(1) Long companyId) {
+        log.debug("DELETE /internal/company-cache/{} — evictCompany", companyId);
+        companyCache.evict(companyId);
+    }
+}
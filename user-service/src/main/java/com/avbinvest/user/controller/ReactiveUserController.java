@@ -0,0 +1,54 @@
+package com.avbinvest.user.controller;
+
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.reactive.ReactiveUserReader;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variants of the user read endpoints with the same request and response shapes.
+ * They live next to the blocking ones so that both can be compared under the same load;
+ * the servlet thread is released while the database and company-service calls are in flight.
+ */
+@RestController
+@RequestMapping("/api/users/reactive")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@ConditionalOnProperty(prefix = "app.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveUserController {
+
+    private final ReactiveUserReader userReader;
+
+    @GetMapping
+    public Mono<Page<UserResponseDTO>> getAllUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("GET /api/users/reactive — getAllUsers() page={} size={}", page, size);
+        return userReader.getAllUsers(PageRequest.of(page, size));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UserResponseDTO> getUserById(@PathVariable @Min(1) Long id) {
+        log.debug("GET /api/users/reactive/{} — getUserById", id);
+        return userReader.getUserById(id);
+    }
+
+    @PostMapping("/getUsersByIds")
+    public Mono<Page<UserResponseDTO>> getUsersByIds(@RequestBody @NotEmpty List<@Min(1) Long> ids,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "10") int size) {
+        log.debug("POST /api/users/reactive/getUsersByIds — ids size={}", ids.size());
+        return userReader.getUsersByIds(ids, PageRequest.of(page, size));
+    }
+}
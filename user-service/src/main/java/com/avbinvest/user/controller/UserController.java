@@ -1,22 +1,34 @@
 package com.avbinvest.user.controller;
 
+import com.avbinvest.common.util.ETags;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.dto.SliceDTO;
+import com.avbinvest.user.dto.TaggedDTO;
 import com.avbinvest.user.dto.UserCreateDTO;
 import com.avbinvest.user.dto.UserResponseDTO;
 import com.avbinvest.user.dto.UserUpdateDTO;
+import com.avbinvest.user.dto.UsersVersionDTO;
 import com.avbinvest.user.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
@@ -31,58 +43,110 @@ public class UserController {
     public Page<UserResponseDTO> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        log.info("GET /api/users — getAllUsers() page={} size={}", page, size);
+        log.debug("GET /api/users — getAllUsers() page={} size={}", page, size);
         Pageable pageable = PageRequest.of(page, size);
         return userService.getAllUsers(pageable);
     }
 
+    @GetMapping(params = "withTotal=false")
+    public SliceDTO<UserResponseDTO> getAllUsersWithoutTotal(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("GET /api/users?withTotal=false — getAllUsersWithoutTotal() page={} size={}", page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        return userService.getAllUsersSlice(pageable);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPageDTO<UserResponseDTO> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size) {
+        log.debug("GET /api/users/scroll — scrollUsers() size={}", size);
+        return userService.scrollUsers(cursor, size);
+    }
+
     @GetMapping("/{id}")
-    public UserResponseDTO getUserById(@PathVariable @Min(1) Long id) {
-        log.info("GET /api/users/{} — getUserById", id);
-        return userService.getUserById(id);
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable @Min(1) Long id, WebRequest request) {
+        log.debug("GET /api/users/{} — getUserById", id);
+        TaggedDTO<UserResponseDTO> user = userService.getTaggedUserById(id);
+        if (request.checkNotModified(user.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(user.eTag()).body(user.body());
     }
 
     @PostMapping("/{userId}/addUserToCompany")
     public UserResponseDTO addUserToCompany(@PathVariable @Min(1) Long userId,
                                             @RequestParam @NotNull Long companyId) {
-        log.info("POST /api/users/{}/addUserToCompany — companyId={}", userId, companyId);
+        log.debug("POST /api/users/{}/addUserToCompany — companyId={}", userId, companyId);
         return userService.addUserToCompany(userId, companyId);
     }
 
-    @PostMapping("/getUsersByIds")
+    @PostMapping(value = "/getUsersByIds", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public Page<UserResponseDTO> getUsersByIds(@RequestBody @NotEmpty List<@Min(1) Long> ids,
                                                @RequestParam(defaultValue = "0") int page,
                                                @RequestParam(defaultValue = "10") int size) {
-        log.info("POST /api/users/getUsersByIds — ids size={}", ids.size());
+        log.debug("POST /api/users/getUsersByIds — ids size={}", ids.size());
         Pageable pageable = PageRequest.of(page, size);
         return userService.getUsersByIds(ids, pageable);
     }
 
+    @PostMapping(value = "/getUsersByIds", params = "withTotal=false",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public SliceDTO<UserResponseDTO> getUsersByIdsWithoutTotal(@RequestBody @NotEmpty List<@Min(1) Long> ids,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        log.debug("POST /api/users/getUsersByIds?withTotal=false — ids size={}", ids.size());
+        Pageable pageable = PageRequest.of(page, size);
+        return userService.getUsersByIdsSlice(ids, pageable);
+    }
+
+    @PostMapping(value = "/getUsersVersion", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public UsersVersionDTO getUsersVersion(@RequestBody @NotEmpty List<@Min(1) Long> ids) {
+        log.debug("POST /api/users/getUsersVersion — ids size={}", ids.size());
+        return userService.getUsersVersion(ids);
+    }
+
     @PostMapping
     public UserResponseDTO createUser(@Valid @RequestBody UserCreateDTO userDTO) {
-        log.info("POST /api/users — createUser: {}", userDTO);
+        log.atDebug().setMessage("POST /api/users — createUser").addKeyValue("user", userDTO).log();
         return userService.createUser(userDTO);
     }
 
+    @PostMapping("/bulk")
+    public List<UserResponseDTO> createUsers(@RequestBody @NotEmpty @Size(max = 5000) List<@Valid UserCreateDTO> userDTOs) {
+        log.debug("POST /api/users/bulk — createUsers: {} users", userDTOs.size());
+        return userService.createUsers(userDTOs);
+    }
+
     @PutMapping("/{id}")
     public UserResponseDTO updateUser(@PathVariable @Min(1) Long id,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                       @Valid @RequestBody UserUpdateDTO userDTO) {
-        log.info("PUT /api/users/{} — updateUser: {}", id, userDTO);
+        log.atDebug().setMessage("PUT /api/users/{} — updateUser").addArgument(id).addKeyValue("user", userDTO).log();
+        Optional.ofNullable(ETags.parseVersion(ifMatch)).ifPresent(userDTO::setVersion);
         return userService.updateUser(id, userDTO);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(code = org.springframework.http.HttpStatus.NO_CONTENT)
     public void deleteUser(@PathVariable @Min(1) Long id) {
-        log.info("DELETE /api/users/{} — deleteUser", id);
+        log.debug("DELETE /api/users/{} — deleteUser", id);
         userService.deleteUser(id);
     }
 
+    @PostMapping(value = "/removeUsersFromCompany", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public int removeUsersFromCompany(@RequestParam @NotNull Long companyId,
+                                      @RequestBody @NotEmpty List<@Min(1) Long> userIds) {
+        log.debug("POST /api/users/removeUsersFromCompany — companyId={}, userIds size={}", companyId, userIds.size());
+        return userService.removeUsersFromCompany(companyId, userIds);
+    }
+
     @DeleteMapping("/{userId}/removeUserFromCompany")
     @ResponseStatus(code = org.springframework.http.HttpStatus.NO_CONTENT)
     public void removeUserFromCompany(@PathVariable @Min(1) Long userId,
                                       @RequestParam @NotNull Long companyId) {
-        log.info("DELETE /api/users/{}/removeUserFromCompany — companyId={}", userId, companyId);
+        log.debug("DELETE /api/users/{}/removeUserFromCompany — companyId={}", userId, companyId);
         userService.removeUserFromCompany(userId, companyId);
     }
 }
@@ -16,4 +16,5 @@ public class CompanyDTO {
     private Long id;
     private String name;
     private BigDecimal budget;
+    private Long version;
 }
@@ -25,4 +25,10 @@ public class UserUpdateDTO {
 
     @PositiveOrZero(message = "CompanyId must be positive or zero")
     private Long companyId;
+
+    /**
+     * Version the client based its change on, taken from the {@code If-Match} header or the body;
+     * the update is rejected if the user has changed since.
+     */
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package com.avbinvest.user.dto;
+
+/**
+ * Version digest of a set of users: how many of them exist and the sum of their versions.
+ * Every update bumps a user's version, so the digest of a fixed id set changes whenever one of the users does.
+ */
+public record UsersVersionDTO(Long count, Long versionSum) {
+}
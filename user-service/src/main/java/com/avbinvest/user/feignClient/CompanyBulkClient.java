@@ -0,0 +1,24 @@
+package com.avbinvest.user.feignClient;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+/**
+ * Feign client for the bulk membership writes of the Company Service.
+ * A separate client context ({@code company-service-bulk}), so these calls get their own
+ * read timeout under {@code spring.cloud.openfeign.client.config.company-service-bulk}.
+ */
+@FeignClient(name = "company-service", contextId = "company-service-bulk")
+public interface CompanyBulkClient {
+
+    @PostMapping(value = "/api/company/{id}/addEmployees", consumes = MediaType.APPLICATION_CBOR_VALUE)
+    void addEmployees(@PathVariable Long id, @RequestBody List<Long> userIds);
+
+    @PostMapping(value = "/api/company/{id}/removeEmployees", consumes = MediaType.APPLICATION_CBOR_VALUE)
+    void removeEmployees(@PathVariable Long id, @RequestBody List<Long> userIds);
+}
@@ -1,12 +1,18 @@
 package com.avbinvest.user.feignClient;
 
 import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Feign client interface for communicating with the Company Service.
- * Provides methods to retrieve company details and manage employees within a company.
+ * Provides methods to retrieve company details (one by one or in bulk);
+ * membership changes go through {@link CompanyBulkClient}.
+ * Bulk calls exchange CBOR instead of JSON.
  */
 @FeignClient(name = "company-service")
 public interface CompanyClient {
@@ -14,9 +20,11 @@ public interface CompanyClient {
     @GetMapping("/api/company/{id}")
     CompanyDTO getCompanyById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean includeEmployees);
 
-    @PostMapping("/api/company/{id}/addEmployee")
-    void addEmployee(@PathVariable Long id, @RequestParam Long userId);
+    @GetMapping(value = "/api/company/scroll", produces = MediaType.APPLICATION_CBOR_VALUE)
+    CursorPageDTO<CompanyDTO> scrollCompanies(@RequestParam(required = false) String cursor,
+                                              @RequestParam int size,
+                                              @RequestParam boolean includeEmployees);
 
-    @DeleteMapping("/api/company/{id}/removeEmployee")
-    void removeEmployee(@PathVariable Long id, @RequestParam Long userId);
+    @PostMapping(value = "/api/company/getCompaniesByIds", consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
+    List<CompanyDTO> getCompaniesByIds(@RequestBody List<Long> ids);
 }
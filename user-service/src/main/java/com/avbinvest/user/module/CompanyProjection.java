@@ -0,0 +1,37 @@
+package com.avbinvest.user.module;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Local read model of the company fields that user-service returns with a user.
+ * Kept up to date by change events from company-service and rebuilt in bulk at startup.
+ */
+@Entity
+@Table(name = "company_projection")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CompanyProjection {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+    private String name;
+    private BigDecimal budget;
+
+    /**
+     * Version of the company in company-service; a row is never overwritten with an older one.
+     * Added with a default so that ddl-auto can introduce the column on existing rows.
+     */
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    @Column(name = "synced_at", nullable = false)
+    private Instant syncedAt;
+}
@@ -0,0 +1,9 @@
+package com.avbinvest.user.module;
+
+/**
+ * Kind of company membership change recorded in the outbox.
+ */
+public enum MembershipChange {
+    ADDED,
+    REMOVED
+}
@@ -0,0 +1,64 @@
+package com.avbinvest.user.module;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * A membership change that still has to be delivered to company-service.
+ * Written in the same transaction as the {@code users.company_id} update and
+ * deleted once company-service has acknowledged it, or dead-lettered if it never will.
+ */
+@Entity
+@Table(name = "membership_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MembershipOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "membership_outbox_seq")
+    @SequenceGenerator(name = "membership_outbox_seq", sequenceName = "membership_outbox_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MembershipChange change;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Failed deliveries so far.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    /**
+     * Not delivered before this time: set while a dispatcher has claimed the event and after a failed delivery.
+     * Holds back all later events of the same company as well.
+     */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    /**
+     * Set when delivery was given up; the event stays in the table for inspection and is not retried.
+     */
+    @Column(name = "dead_lettered_at")
+    private Instant deadLetteredAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
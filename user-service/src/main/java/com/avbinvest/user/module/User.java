@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.PHONE_NUMBER_CONSTRAINT, columnNames = "phone_number"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,12 +12,22 @@ import lombok.*;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class User {
 
+    public static final String PHONE_NUMBER_CONSTRAINT = "uk_users_phone_number";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence (unlike IDENTITY) lets Hibernate batch inserts: 50 ids are reserved per round trip.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
     private String firstName;
     private String lastName;
+    @Column(name = "phone_number")
     private String phoneNumber;
     private Long companyId;
+
+    // Added with a default so that ddl-auto can introduce the column on existing rows.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
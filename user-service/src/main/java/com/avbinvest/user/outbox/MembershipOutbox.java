@@ -0,0 +1,45 @@
+package com.avbinvest.user.outbox;
+
+import com.avbinvest.user.module.MembershipChange;
+import com.avbinvest.user.module.MembershipOutboxEvent;
+import com.avbinvest.user.repository.MembershipOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Records membership changes for later delivery to company-service by {@link MembershipOutboxDispatcher}.
+ * Must be called inside the transaction that changes {@code users.company_id}, so both commit or neither does.
+ */
+@Component
+@RequiredArgsConstructor
+public class MembershipOutbox {
+
+    private final MembershipOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Long companyId, Collection<Long> userIds) {
+        record(companyId, userIds, MembershipChange.ADDED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long companyId, Collection<Long> userIds) {
+        record(companyId, userIds, MembershipChange.REMOVED);
+    }
+
+    private void record(Long companyId, Collection<Long> userIds, MembershipChange change) {
+        Instant now = Instant.now();
+        outboxRepository.saveAll(userIds.stream()
+                .map(userId -> MembershipOutboxEvent.builder()
+                        .companyId(companyId)
+                        .userId(userId)
+                        .change(change)
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+}
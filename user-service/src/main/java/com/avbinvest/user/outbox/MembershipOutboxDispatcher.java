@@ -0,0 +1,171 @@
+package com.avbinvest.user.outbox;
+
+import com.avbinvest.user.config.MembershipOutboxProperties;
+import com.avbinvest.user.feignClient.CompanyBulkClient;
+import com.avbinvest.user.module.MembershipChange;
+import com.avbinvest.user.module.MembershipOutboxEvent;
+import com.avbinvest.user.repository.MembershipOutboxRepository;
+import com.avbinvest.user.service.UserService;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to company-service in the background.
+ * <p>
+ * Each run claims the oldest events in one short transaction: under a transaction-scoped advisory lock
+ * the events are read and held back from other dispatchers for {@code claim-timeout}. Company-service is
+ * called after that transaction has committed, so no connection or lock is held across remote calls.
+ * The events are grouped per company and every run of consecutive same-kind changes goes out as one bulk
+ * call ({@code addEmployees} / {@code removeEmployees}), so the order of changes within a company is
+ * preserved; delivered events are then deleted. Both bulk endpoints are idempotent, which makes
+ * redelivery after a crash harmless.
+ * </p>
+ * <p>
+ * A company whose delivery fails is retried with exponential backoff, stored with the events, while other
+ * companies keep flowing. Events are dead-lettered (kept, but no longer retried) when company-service
+ * rejects them with a status that retrying cannot fix or after {@code max-attempts} failures. When
+ * company-service no longer knows the company, the users of its undelivered events are detached locally
+ * and the events are dropped in the same transaction, so no user is left pointing at a deleted company.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipOutboxDispatcher {
+
+    private static final long DISPATCH_LOCK_KEY = 7_411_902_135L;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MembershipOutboxRepository outboxRepository;
+    private final CompanyBulkClient companyClient;
+    private final UserService userService;
+    private final TransactionOperations transactionOperations;
+    private final MembershipOutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${membership-outbox.poll-interval:PT0.5S}")
+    public void dispatch() {
+        Map<Long, List<MembershipOutboxEvent>> eventsByCompany = claimBatch().stream()
+                .collect(Collectors.groupingBy(MembershipOutboxEvent::getCompanyId, LinkedHashMap::new, Collectors.toList()));
+
+        eventsByCompany.forEach(this::deliver);
+    }
+
+    private List<MembershipOutboxEvent> claimBatch() {
+        List<MembershipOutboxEvent> batch = transactionOperations.execute(status -> {
+            if (!outboxRepository.tryAdvisoryXactLock(DISPATCH_LOCK_KEY)) {
+                return List.of();
+            }
+
+            Instant now = Instant.now();
+            List<MembershipOutboxEvent> events = outboxRepository.findDeliverable(now, PageRequest.of(0, properties.getBatchSize()));
+            if (!events.isEmpty()) {
+                outboxRepository.postpone(ids(events), now.plus(properties.getClaimTimeout()));
+            }
+            return events;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    private void deliver(Long companyId, List<MembershipOutboxEvent> events) {
+        int from = 0;
+        while (from < events.size()) {
+            MembershipChange change = events.get(from).getChange();
+            int to = from;
+            while (to < events.size() && events.get(to).getChange() == change) {
+                to++;
+            }
+            List<MembershipOutboxEvent> run = events.subList(from, to);
+
+            try {
+                send(companyId, change, run);
+            } catch (FeignException.NotFound ex) {
+                List<MembershipOutboxEvent> undelivered = events.subList(from, events.size());
+                log.warn("[MembershipOutbox] Company {} no longer exists, detaching its users and dropping {} events",
+                        companyId, undelivered.size());
+                detachFromDeletedCompany(companyId, undelivered);
+                return;
+            } catch (RuntimeException ex) {
+                int attempts = run.stream().mapToInt(MembershipOutboxEvent::getAttempts).max().orElse(0) + 1;
+                if (isPermanent(ex) || attempts >= properties.getMaxAttempts()) {
+                    outboxRepository.deadLetter(ids(run), Instant.now(), errorOf(ex));
+                    log.error("[MembershipOutbox] Giving up on {} {} changes of company {} after {} attempts: {}",
+                            run.size(), change, companyId, attempts, ex.getMessage());
+                    from = to;
+                    continue;
+                }
+
+                Duration delay = backoff(attempts);
+                outboxRepository.recordFailure(ids(run), Instant.now().plus(delay), errorOf(ex));
+                List<MembershipOutboxEvent> rest = events.subList(to, events.size());
+                if (!rest.isEmpty()) {
+                    // Held back by the failed run anyway; released so they do not wait for the claim to expire.
+                    outboxRepository.postpone(ids(rest), null);
+                }
+                log.warn("[MembershipOutbox] Delivery to company {} failed ({} in a row), retrying in {} ms: {}",
+                        companyId, attempts, delay.toMillis(), ex.getMessage());
+                return;
+            }
+
+            outboxRepository.deleteAllInBatch(run);
+            from = to;
+        }
+
+        log.info("[MembershipOutbox] Delivered {} membership changes of company {}", events.size(), companyId);
+    }
+
+    /**
+     * Only users still attached to the company are touched, so a later move to another company stays in place.
+     */
+    private void detachFromDeletedCompany(Long companyId, List<MembershipOutboxEvent> undelivered) {
+        List<Long> userIds = undelivered.stream().map(MembershipOutboxEvent::getUserId).distinct().toList();
+        transactionOperations.executeWithoutResult(status -> {
+            userService.removeUsersFromCompany(companyId, userIds);
+            outboxRepository.deleteAllInBatch(undelivered);
+        });
+    }
+
+    private void send(Long companyId, MembershipChange change, List<MembershipOutboxEvent> run) {
+        List<Long> userIds = run.stream().map(MembershipOutboxEvent::getUserId).distinct().toList();
+        switch (change) {
+            case ADDED -> companyClient.addEmployees(companyId, userIds);
+            case REMOVED -> companyClient.removeEmployees(companyId, userIds);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    /**
+     * A client error that the same request will run into again; timeouts and throttling are worth retrying.
+     */
+    private static boolean isPermanent(RuntimeException ex) {
+        if (!(ex instanceof FeignException feignException)) {
+            return false;
+        }
+        int status = feignException.status();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    private static String errorOf(RuntimeException ex) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static List<Long> ids(List<MembershipOutboxEvent> events) {
+        return events.stream().map(MembershipOutboxEvent::getId).toList();
+    }
+}
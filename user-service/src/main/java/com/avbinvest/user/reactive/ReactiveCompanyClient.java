@@ -0,0 +1,40 @@
+package com.avbinvest.user.reactive;
+
+import com.avbinvest.user.config.ReactiveReadProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link com.avbinvest.user.feignClient.CompanyClient} for the reactive read path.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveCompanyClient {
+
+    private static final ParameterizedTypeReference<List<CompanyDTO>> COMPANY_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final ReactiveReadProperties properties;
+
+    public ReactiveCompanyClient(WebClient.Builder loadBalancedWebClientBuilder, ReactiveReadProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.baseUrl(properties.getCompanyServiceUri()).build();
+        this.properties = properties;
+    }
+
+    public Mono<List<CompanyDTO>> getCompaniesByIds(Collection<Long> companyIds) {
+        return webClient.post()
+                .uri("/api/company/getCompaniesByIds")
+                .bodyValue(companyIds)
+                .retrieve()
+                .bodyToMono(COMPANY_LIST)
+                .timeout(properties.getCompanyTimeout());
+    }
+}
@@ -0,0 +1,117 @@
+package com.avbinvest.user.reactive;
+
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.exception.CompanyNotFoundException;
+import com.avbinvest.user.exception.UserNotFoundException;
+import com.avbinvest.user.module.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.avbinvest.user.util.UserConverter.convertEntityToDto;
+
+/**
+ * Reactive implementation of the user read operations of {@link com.avbinvest.user.service.UserService}
+ * with the same results. No call blocks: users and company projections are read over R2DBC,
+ * companies unknown to the projection come from company-service over WebClient.
+ * The in-memory company cache is shared with the blocking path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveUserReader {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveCompanyClient companyClient;
+    private final CompanyCache companyCache;
+
+    public Mono<UserResponseDTO> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)))
+                .flatMap(user -> resolveCompanies(List.of(user))
+                        .map(companies -> {
+                            if (user.getCompanyId() != null && !companies.containsKey(user.getCompanyId())) {
+                                throw new CompanyNotFoundException(user.getCompanyId());
+                            }
+                            return convertEntityToDto(user, companies.get(user.getCompanyId()));
+                        }));
+    }
+
+    public Mono<Page<UserResponseDTO>> getAllUsers(Pageable pageable) {
+        return Mono.zip(userRepository.findPage(pageable.getOffset(), pageable.getPageSize()).collectList(),
+                        userRepository.count())
+                .flatMap(pageAndTotal -> toPage(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    public Mono<Page<UserResponseDTO>> getUsersByIds(List<Long> ids, Pageable pageable) {
+        return Mono.zip(userRepository.findPageByIdIn(ids, pageable.getOffset(), pageable.getPageSize()).collectList(),
+                        userRepository.countByIdIn(ids))
+                .flatMap(pageAndTotal -> {
+                    if (pageAndTotal.getT1().isEmpty()) {
+                        log.warn("[UserService] No users found for IDs: {}", ids);
+                        return Mono.just(Page.<UserResponseDTO>empty(pageable));
+                    }
+                    return toPage(pageAndTotal.getT1(), pageable, pageAndTotal.getT2());
+                });
+    }
+
+    private Mono<Page<UserResponseDTO>> toPage(List<User> users, Pageable pageable, long total) {
+        return resolveCompanies(users).map(companies -> {
+            List<UserResponseDTO> content = users.stream()
+                    .map(user -> convertEntityToDto(user, user.getCompanyId() == null ? null : companies.get(user.getCompanyId())))
+                    .toList();
+            return new PageImpl<>(content, pageable, total);
+        });
+    }
+
+    /**
+     * Same lookup order as {@link CompanyCache#getAll}: memory, then the projection, then one bulk
+     * request to company-service. Unknown ids are absent from the result.
+     */
+    private Mono<Map<Long, CompanyDTO>> resolveCompanies(List<User> users) {
+        Set<Long> companyIds = users.stream()
+                .map(User::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (companyIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        long loadedAt = companyCache.generation();
+        Map<Long, CompanyDTO> result = new HashMap<>(companyCache.getAllPresent(companyIds));
+        List<Long> missing = companyIds.stream().filter(id -> !result.containsKey(id)).sorted().toList();
+        if (missing.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        return userRepository.findCompanyProjections(missing)
+                .collectMap(CompanyDTO::getId, Function.identity())
+                .flatMap(projected -> {
+                    List<Long> unknown = missing.stream().filter(id -> !projected.containsKey(id)).toList();
+                    Mono<Map<Long, CompanyDTO>> fetched = unknown.isEmpty()
+                            ? Mono.just(Map.of())
+                            : companyClient.getCompaniesByIds(unknown).map(companies -> companies.stream()
+                            .collect(Collectors.toMap(CompanyDTO::getId, Function.identity(), (first, second) -> first)));
+
+                    return fetched.map(remote -> {
+                        Map<Long, CompanyDTO> loaded = new HashMap<>(projected);
+                        loaded.putAll(remote);
+                        companyCache.putAll(loaded, loadedAt);
+                        result.putAll(loaded);
+                        return result;
+                    });
+                });
+    }
+}
@@ -0,0 +1,121 @@
+package com.avbinvest.user.reactive;
+
+import com.avbinvest.user.config.ReactiveReadProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.module.User;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Non-blocking reads of {@code users} and {@code company_projection} over R2DBC.
+ * <p>
+ * The pool is owned by this class and not exposed as a {@code ConnectionFactory} bean,
+ * so JPA keeps using the regular Hikari {@code DataSource}.
+ * </p>
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveUserRepository implements DisposableBean {
+
+    private static final String USER_COLUMNS = "id, first_name, last_name, phone_number, company_id, version";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(ReactiveReadProperties properties, DataSourceProperties dataSourceProperties) {
+        String url = StringUtils.hasText(properties.getUrl())
+                ? properties.getUrl()
+                : dataSourceProperties.determineUrl().replaceFirst("^jdbc:", "r2dbc:");
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.getPoolMaxSize())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        log.info("[UserService] Reactive read path uses R2DBC pool of {} connections", properties.getPoolMaxSize());
+    }
+
+    public Mono<User> findById(Long id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    public Flux<User> findPage(long offset, int limit) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT count(*) FROM users")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<User> findPageByIdIn(Collection<Long> ids, long offset, int limit) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = ANY(:ids) ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("ids", ids.toArray(Long[]::new))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+
+    public Mono<Long> countByIdIn(Collection<Long> ids) {
+        return databaseClient.sql("SELECT count(*) FROM users WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<CompanyDTO> findCompanyProjections(Collection<Long> companyIds) {
+        return databaseClient.sql("SELECT id, name, budget, version FROM company_projection WHERE id = ANY(:ids)")
+                .bind("ids", companyIds.toArray(Long[]::new))
+                .map(row -> CompanyDTO.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .budget(row.get("budget", BigDecimal.class))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static User toUser(Readable row) {
+        return User.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .phoneNumber(row.get("phone_number", String.class))
+                .companyId(row.get("company_id", Long.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
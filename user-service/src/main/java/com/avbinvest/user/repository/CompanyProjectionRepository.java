@@ -0,0 +1,40 @@
+package com.avbinvest.user.repository;
+
+import com.avbinvest.user.module.CompanyProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface CompanyProjectionRepository extends JpaRepository<CompanyProjection, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from CompanyProjection p where p.syncedAt < :syncedAt")
+    int deleteBySyncedAtBefore(@Param("syncedAt") Instant syncedAt);
+
+    /**
+     * Overwrites the row of the company unless it already holds a newer version of it.
+     *
+     * @return {@code 0} if the row is absent or newer.
+     */
+    @Modifying
+    @Transactional
+    @Query("update CompanyProjection p set p.name = :#{#projection.name}, p.budget = :#{#projection.budget}, " +
+            "p.version = :#{#projection.version}, p.syncedAt = :#{#projection.syncedAt} " +
+            "where p.id = :#{#projection.id} and p.version <= :#{#projection.version}")
+    int updateUnlessNewer(@Param("projection") CompanyProjection projection);
+
+    /**
+     * Stores the company unless the projection already holds a newer version of it,
+     * so a slow read of company-service never overwrites a change pushed meanwhile.
+     */
+    default void upsertUnlessNewer(CompanyProjection projection) {
+        if (updateUnlessNewer(projection) == 0 && !existsById(projection.getId())) {
+            save(projection);
+        }
+    }
+}
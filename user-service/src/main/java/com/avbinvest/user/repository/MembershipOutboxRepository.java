@@ -0,0 +1,49 @@
+package com.avbinvest.user.repository;
+
+import com.avbinvest.user.module.MembershipOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface MembershipOutboxRepository extends JpaRepository<MembershipOutboxEvent, Long> {
+
+    /**
+     * Oldest events that are not dead-lettered, skipping every company with an event that is claimed or
+     * waiting for a retry, so the changes of a company are delivered in order.
+     */
+    @Query("select e from MembershipOutboxEvent e where e.deadLetteredAt is null and e.companyId not in ("
+            + "select w.companyId from MembershipOutboxEvent w where w.deadLetteredAt is null and w.nextAttemptAt > :now) "
+            + "order by e.id")
+    List<MembershipOutboxEvent> findDeliverable(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update MembershipOutboxEvent e set e.nextAttemptAt = :nextAttemptAt where e.id in :ids")
+    int postpone(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Transactional
+    @Query("update MembershipOutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :error where e.id in :ids")
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") Instant nextAttemptAt,
+                      @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("update MembershipOutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = null, "
+            + "e.deadLetteredAt = :now, e.lastError = :error where e.id in :ids")
+    int deadLetter(@Param("ids") Collection<Long> ids, @Param("now") Instant now, @Param("error") String error);
+
+    /**
+     * Takes a transaction-scoped PostgreSQL advisory lock; returns {@code false} instead of waiting if it is held.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+}
@@ -1,16 +1,41 @@
 package com.avbinvest.user.repository;
 
+import com.avbinvest.user.dto.UsersVersionDTO;
 import com.avbinvest.user.module.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> getUserById(Long id);
     Page<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+    Slice<User> findSliceBy(Pageable pageable);
+    Slice<User> findSliceByIdIn(List<Long> ids, Pageable pageable);
     User findUserByPhoneNumber(String phoneNumber);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.companyId = null, u.version = u.version + 1 where u.companyId = :companyId and u.id in :userIds")
+    int detachFromCompany(@Param("companyId") Long companyId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("select new com.avbinvest.user.dto.UsersVersionDTO(count(u), coalesce(sum(u.version), 0L)) from User u where u.id in :ids")
+    UsersVersionDTO getVersionOf(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.phoneNumber from User u where u.phoneNumber in :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("select u.phoneNumber from User u where u.phoneNumber is not null")
+    Stream<String> streamAllPhoneNumbers();
 }
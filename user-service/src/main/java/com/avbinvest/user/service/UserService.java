@@ -1,9 +1,12 @@
 package com.avbinvest.user.service;
 
-import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.dto.SliceDTO;
+import com.avbinvest.user.dto.TaggedDTO;
 import com.avbinvest.user.dto.UserCreateDTO;
 import com.avbinvest.user.dto.UserResponseDTO;
 import com.avbinvest.user.dto.UserUpdateDTO;
+import com.avbinvest.user.dto.UsersVersionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,11 +15,18 @@ import java.util.List;
 public interface UserService {
 
     UserResponseDTO createUser(UserCreateDTO dto);
+    List<UserResponseDTO> createUsers(List<UserCreateDTO> dtos);
     UserResponseDTO updateUser(Long id, UserUpdateDTO dto);
     UserResponseDTO getUserById(Long id);
+    TaggedDTO<UserResponseDTO> getTaggedUserById(Long id);
     Page<UserResponseDTO> getAllUsers(Pageable pageable);
+    SliceDTO<UserResponseDTO> getAllUsersSlice(Pageable pageable);
+    CursorPageDTO<UserResponseDTO> scrollUsers(String cursor, int size);
     void deleteUser(Long id);
     void removeUserFromCompany(Long companyId, Long userId);
+    int removeUsersFromCompany(Long companyId, List<Long> userIds);
     UserResponseDTO addUserToCompany(Long companyId, Long userId);
     Page<UserResponseDTO> getUsersByIds(List<Long> ids, Pageable pageable);
+    SliceDTO<UserResponseDTO> getUsersByIdsSlice(List<Long> ids, Pageable pageable);
+    UsersVersionDTO getUsersVersion(List<Long> ids);
 }
@@ -1,26 +1,45 @@
 package com.avbinvest.user.service;
 
+import com.avbinvest.common.util.ETags;
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.cache.PhoneNumberFilter;
 import com.avbinvest.user.dto.UserUpdateDTO;
-import com.avbinvest.user.feignClient.CompanyClient;
 import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.dto.SliceDTO;
+import com.avbinvest.user.dto.TaggedDTO;
 import com.avbinvest.user.dto.UserCreateDTO;
 import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.dto.UsersVersionDTO;
 import com.avbinvest.user.exception.CompanyNotFoundException;
 import com.avbinvest.user.exception.ConflictException;
 import com.avbinvest.user.exception.UserNotFoundException;
 import com.avbinvest.user.module.User;
+import com.avbinvest.user.outbox.MembershipOutbox;
 import com.avbinvest.user.repository.UserRepository;
+import com.avbinvest.user.util.Chunks;
+import com.avbinvest.user.util.CursorCodec;
+import com.avbinvest.user.util.PhoneNumbers;
+import com.avbinvest.user.util.UserConverter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.avbinvest.user.util.UserConverter.*;
 
@@ -32,39 +51,63 @@ import static com.avbinvest.user.util.UserConverter.*;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int DETACH_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
-    private final CompanyClient companyClient;
+    private final CompanyCache companyCache;
+    private final PhoneNumberFilter phoneNumberFilter;
+    private final MembershipOutbox membershipOutbox;
+    private final TransactionOperations transactionOperations;
 
     @Override
     public UserResponseDTO createUser(UserCreateDTO dto) {
-        log.info("[UserService] Creating user with phone: {}", dto.getPhoneNumber());
+        log.debug("[UserService] Creating user with phone: {}", dto.getPhoneNumber());
 
         validatePhoneNumber(dto.getPhoneNumber());
 
         CompanyDTO company = fetchCompanyIfPresent(dto.getCompanyId());
 
-        User user = userRepository.save(convertDtoToEntity(dto));
-
-        addUserToCompanyIfPresent(user.getId(), dto.getCompanyId());
+        User user = saveUser(convertDtoToEntity(dto), null);
 
         UserResponseDTO response = convertEntityToDto(user, company);
         log.info("[UserService] User created with ID {}", user.getId());
         return response;
     }
 
+    @Override
+    public List<UserResponseDTO> createUsers(List<UserCreateDTO> dtos) {
+        log.debug("[UserService] Bulk creating {} users", dtos.size());
+
+        List<User> users = dtos.stream().map(UserConverter::convertDtoToEntity).toList();
+
+        validatePhoneNumbersUnique(users);
+
+        Map<Long, CompanyDTO> companies = fetchCompaniesOrThrow(users);
+
+        List<User> savedUsers = saveUsers(users);
+
+        List<UserResponseDTO> response = savedUsers.stream()
+                .map(user -> mapUserWithCompany(user, companies))
+                .toList();
+        log.info("[UserService] Bulk created {} users in {} companies", response.size(), companies.size());
+        return response;
+    }
+
     @Override
     public UserResponseDTO updateUser(Long id, UserUpdateDTO dto) {
-        log.info("[UserService] Updating user with ID {}", id);
+        log.debug("[UserService] Updating user with ID {}", id);
 
         User user = findUserOrThrow(id);
 
+        validateVersion(user, dto.getVersion());
         validatePhoneNumberForUpdate(dto.getPhoneNumber(), id);
 
+        Long previousCompanyId = user.getCompanyId();
         CompanyDTO company = resolveCompanyForUpdate(user, dto);
 
         patchUser(user, dto);
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser = saveUser(user, previousCompanyId);
 
         UserResponseDTO response = convertEntityToDto(updatedUser, company);
         log.info("[UserService] User with ID {} successfully updated", id);
@@ -73,26 +116,64 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserResponseDTO getUserById(Long id) {
+        return getTaggedUserById(id).body();
+    }
+
+    /**
+     * The user together with its tag, both built from one load of the user and its company. The company
+     * comes from the local projection, so a conditional request is answered without calling company-service.
+     */
+    @Override
+    public TaggedDTO<UserResponseDTO> getTaggedUserById(Long id) {
 
         User user = findUserOrThrow(id);
         CompanyDTO company = fetchCompanyIfExists(user.getCompanyId());
 
         UserResponseDTO response = convertEntityToDto(user, company);
-        log.info("[UserService] Fetched user with ID {}", id);
-        return response;
+        log.debug("[UserService] Fetched user with ID {}", id);
+        return new TaggedDTO<>(response, ETags.of(user.getVersion(), company == null ? null : String.valueOf(company.getVersion())));
     }
 
     @Override
     public Page<UserResponseDTO> getAllUsers(Pageable pageable) {
 
         Page<User> usersPage = userRepository.findAll(pageable);
+        Map<Long, CompanyDTO> companies = fetchCompaniesForUsers(usersPage.getContent());
+
+        Page<UserResponseDTO> response = usersPage.map(user -> mapUserWithCompany(user, companies));
+
+        log.debug("[UserService] Fetched {} companies out of total {}", response.getNumberOfElements(), response.getTotalElements());
+        return response;
+    }
 
-        Page<UserResponseDTO> response = usersPage.map(this::mapUserWithCompany);
+    @Override
+    public SliceDTO<UserResponseDTO> getAllUsersSlice(Pageable pageable) {
+        Slice<User> usersSlice = userRepository.findSliceBy(pageable);
 
-        log.info("[UserService] Fetched {} companies out of total {}", response.getNumberOfElements(), response.getTotalElements());
+        SliceDTO<UserResponseDTO> response = mapSliceWithCompanies(usersSlice);
+        log.debug("[UserService] Fetched {} users, hasNext={}", response.getContent().size(), response.isHasNext());
         return response;
     }
 
+    @Override
+    public CursorPageDTO<UserResponseDTO> scrollUsers(String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor);
+
+        // One extra row tells whether a next page exists without a COUNT query.
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = users.size() > size;
+        List<User> pageUsers = hasNext ? users.subList(0, size) : users;
+
+        Map<Long, CompanyDTO> companies = fetchCompaniesForUsers(pageUsers);
+        List<UserResponseDTO> content = pageUsers.stream()
+                .map(user -> mapUserWithCompany(user, companies))
+                .toList();
+
+        String next = hasNext ? CursorCodec.encode(pageUsers.get(pageUsers.size() - 1).getId()) : null;
+        log.debug("[UserService] Scrolled {} users after ID {}", content.size(), afterId);
+        return new CursorPageDTO<>(content, content.size(), next);
+    }
+
     @Override
     public Page<UserResponseDTO> getUsersByIds(List<Long> ids, Pageable pageable) {
         Page<User> usersPage = userRepository.findAllByIdIn(ids, pageable);
@@ -102,23 +183,45 @@ public class UserServiceImpl implements UserService {
             return Page.empty(pageable);
         }
 
+        Map<Long, CompanyDTO> companies = fetchCompaniesForUsers(usersPage.getContent());
+
         List<UserResponseDTO> dtoList = usersPage.getContent().stream()
-                .map(this::mapUserWithCompany)
+                .map(user -> mapUserWithCompany(user, companies))
                 .toList();
 
-        log.info("[UserService] Fetched users by IDs, count: {}", dtoList.size());
+        log.debug("[UserService] Fetched users by IDs, count: {}", dtoList.size());
 
         return new PageImpl<>(dtoList, pageable, usersPage.getTotalElements());
     }
 
+    @Override
+    public SliceDTO<UserResponseDTO> getUsersByIdsSlice(List<Long> ids, Pageable pageable) {
+        Slice<User> usersSlice = userRepository.findSliceByIdIn(ids, pageable);
+
+        SliceDTO<UserResponseDTO> response = mapSliceWithCompanies(usersSlice);
+        log.debug("[UserService] Fetched users by IDs without total, count: {}", response.getContent().size());
+        return response;
+    }
+
+    /**
+     * One aggregate query, no rows are transferred; company-service tags its employee lists with it.
+     */
+    @Override
+    public UsersVersionDTO getUsersVersion(List<Long> ids) {
+        return userRepository.getVersionOf(ids.stream().distinct().toList());
+    }
+
     @Override
     public void deleteUser(Long id) {
 
         User user = findUserOrThrow(id);
 
-        removeUserFromCompanyIfExists(user);
-
-        userRepository.delete(user);
+        transactionOperations.executeWithoutResult(status -> {
+            if (user.getCompanyId() != null) {
+                membershipOutbox.recordRemoved(user.getCompanyId(), List.of(user.getId()));
+            }
+            userRepository.delete(user);
+        });
 
         log.info("[UserService] User with ID {} deleted", id);
     }
@@ -131,10 +234,9 @@ public class UserServiceImpl implements UserService {
 
         validateUserCompanyConflict(user, companyId);
 
-        companyClient.addEmployee(companyId, userId);
-
+        Long previousCompanyId = user.getCompanyId();
         user.setCompanyId(companyId);
-        User savedUser = userRepository.save(user);
+        User savedUser = saveUser(user, previousCompanyId);
 
         UserResponseDTO response = convertEntityToDto(savedUser, company);
 
@@ -151,14 +253,29 @@ public class UserServiceImpl implements UserService {
 
         validateUserCompanyMembership(user, companyId);
 
-        companyClient.removeEmployee(companyId, userId);
-
         user.setCompanyId(null);
-        userRepository.save(user);
+        saveUser(user, companyId);
 
         log.info("[UserService] User {} successfully removed from company {}", userId, companyId);
     }
 
+    /**
+     * Detaches the given users from the company with set-based updates, all chunks in one transaction:
+     * a failure leaves every user attached. Called by company-service
+     * for its own bulk operations, so company-service is not called back.
+     */
+    @Override
+    public int removeUsersFromCompany(Long companyId, List<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().distinct().toList();
+
+        int detached = transactionOperations.execute(status -> Chunks.of(distinctIds, DETACH_CHUNK_SIZE).stream()
+                .mapToInt(chunk -> userRepository.detachFromCompany(companyId, chunk))
+                .sum());
+
+        log.info("[UserService] Detached {} of {} users from company {}", detached, distinctIds.size(), companyId);
+        return detached;
+    }
+
     // --- Private method
 
     private User findUserOrThrow(Long id) {
@@ -167,25 +284,120 @@ public class UserServiceImpl implements UserService {
     }
 
     private CompanyDTO fetchCompanyByIdOrThrow(Long companyId) {
+        return companyCache.get(companyId);
+    }
+
+    /**
+     * Saves the user and, in the same transaction, records a change of its company in the membership
+     * outbox; company-service learns about it asynchronously. The unique index on {@code phone_number}
+     * catches a concurrent insert that slipped past the pre-check.
+     */
+    private User saveUser(User user, Long previousCompanyId) {
+        User saved;
         try {
-            return companyClient.getCompanyById(companyId, false);
-        } catch (HttpClientErrorException.NotFound ex) {
-            log.warn("[UserService] Company with ID {} not found", companyId);
-            throw new CompanyNotFoundException(companyId);
+            saved = transactionOperations.execute(status -> {
+                User result = userRepository.save(user);
+                recordMembershipChange(result.getId(), previousCompanyId, result.getCompanyId());
+                return result;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (!isPhoneNumberViolation(ex)) throw ex;
+            log.warn("[UserService] Phone number {} was taken concurrently", user.getPhoneNumber());
+            throw new ConflictException("User with such phone: " + user.getPhoneNumber() + " already exists in the system");
         }
+        phoneNumberFilter.put(saved.getPhoneNumber());
+        return saved;
+    }
+
+    /**
+     * Inserts all users in one transaction; with a pooled id sequence Hibernate
+     * sends them as JDBC batches instead of one round trip per row.
+     * Memberships are recorded in the outbox in the same transaction.
+     */
+    private List<User> saveUsers(List<User> users) {
+        List<User> saved;
+        try {
+            saved = transactionOperations.execute(status -> {
+                List<User> result = userRepository.saveAll(users);
+                result.stream()
+                        .filter(user -> user.getCompanyId() != null)
+                        .collect(Collectors.groupingBy(User::getCompanyId, LinkedHashMap::new,
+                                Collectors.mapping(User::getId, Collectors.toList())))
+                        .forEach(membershipOutbox::recordAdded);
+                return result;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (!isPhoneNumberViolation(ex)) throw ex;
+            log.warn("[UserService] A phone number of the bulk request was taken concurrently");
+            throw new ConflictException("One of the phone numbers already exists in the system");
+        }
+        saved.forEach(user -> phoneNumberFilter.put(user.getPhoneNumber()));
+        return saved;
+    }
+
+    /**
+     * Checks a whole batch with at most one query: numbers the Bloom filter rules out
+     * are skipped, the rest are looked up together.
+     */
+    private void validatePhoneNumbersUnique(List<User> users) {
+        Set<String> phoneNumbers = new HashSet<>();
+        for (User user : users) {
+            if (user.getPhoneNumber() != null && !phoneNumbers.add(user.getPhoneNumber())) {
+                throw new ConflictException("Phone number " + user.getPhoneNumber() + " appears more than once in the request");
+            }
+        }
+
+        List<String> candidates = phoneNumbers.stream().filter(phoneNumberFilter::mightContain).toList();
+        if (candidates.isEmpty()) return;
+
+        List<String> existing = userRepository.findExistingPhoneNumbers(candidates);
+        if (!existing.isEmpty()) {
+            log.warn("[UserService] Phone numbers {} are already used by other users", existing);
+            throw new ConflictException("Users with such phones: " + existing + " already exist in the system");
+        }
+    }
+
+    private Map<Long, CompanyDTO> fetchCompaniesOrThrow(List<User> users) {
+        Map<Long, CompanyDTO> companies = fetchCompaniesForUsers(users);
+        users.stream()
+                .map(User::getCompanyId)
+                .filter(companyId -> companyId != null && !companies.containsKey(companyId))
+                .findFirst()
+                .ifPresent(companyId -> {
+                    throw new CompanyNotFoundException(companyId);
+                });
+        return companies;
+    }
+
+    private void recordMembershipChange(Long userId, Long previousCompanyId, Long companyId) {
+        if (Objects.equals(previousCompanyId, companyId)) return;
+
+        if (previousCompanyId != null) {
+            membershipOutbox.recordRemoved(previousCompanyId, List.of(userId));
+        }
+        if (companyId != null) {
+            membershipOutbox.recordAdded(companyId, List.of(userId));
+        }
+    }
+
+    private boolean isPhoneNumberViolation(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.contains(User.PHONE_NUMBER_CONSTRAINT);
     }
 
     private void validatePhoneNumber(String phoneNumber) {
         if (phoneNumber == null) return;
-        checkPhoneNumberUniqueness(phoneNumber);
+        checkPhoneNumberUniqueness(PhoneNumbers.normalize(phoneNumber));
     }
 
     private void validatePhoneNumberForUpdate(String phoneNumber, Long currentUserId) {
         if (phoneNumber == null) return;
-        checkPhoneNumberUniquenessForUpdate(phoneNumber, currentUserId);
+        checkPhoneNumberUniquenessForUpdate(PhoneNumbers.normalize(phoneNumber), currentUserId);
     }
 
     private void checkPhoneNumberUniqueness(String phoneNumber) {
+        if (!phoneNumberFilter.mightContain(phoneNumber)) return;
+
         User existingUser = userRepository.findUserByPhoneNumber(phoneNumber);
         if (existingUser != null) {
             log.warn("[UserService] Phone number {} is already used by another user", phoneNumber);
@@ -194,6 +406,8 @@ public class UserServiceImpl implements UserService {
     }
 
     private void checkPhoneNumberUniquenessForUpdate(String phoneNumber, Long currentUserId) {
+        if (!phoneNumberFilter.mightContain(phoneNumber)) return;
+
         User existingUser = userRepository.findUserByPhoneNumber(phoneNumber);
         if (existingUser != null && !existingUser.getId().equals(currentUserId)) {
             log.warn("[UserService] Phone number {} is already used by another user", phoneNumber);
@@ -201,6 +415,13 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    private void validateVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            log.warn("[UserService] User {} has version {}, update was based on {}", user.getId(), user.getVersion(), expectedVersion);
+            throw new ConflictException("User with id " + user.getId() + " was modified concurrently");
+        }
+    }
+
     private void validateUserCompanyConflict(User user, Long companyId) {
         if (user.getCompanyId() != null && !Objects.equals(user.getCompanyId(), companyId)) {
             log.warn("[UserService] User {} already belongs to another company {}", user.getId(), user.getCompanyId());
@@ -220,8 +441,41 @@ public class UserServiceImpl implements UserService {
         return fetchCompanyByIdOrThrow(companyId);
     }
 
-    private UserResponseDTO mapUserWithCompany(User user) {
-        CompanyDTO company = fetchCompanyIfExists(user.getCompanyId());
+    /**
+     * Resolves the companies of the given users through the cache; all misses
+     * are loaded with a single bulk request instead of one request per user.
+     */
+    private Map<Long, CompanyDTO> fetchCompaniesForUsers(List<User> users) {
+        List<Long> companyIds = users.stream()
+                .map(User::getCompanyId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (companyIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, CompanyDTO> companies = companyCache.getAll(companyIds);
+
+        if (companies.size() < companyIds.size()) {
+            log.warn("[UserService] Only {} of {} companies were resolved", companies.size(), companyIds.size());
+        }
+        return companies;
+    }
+
+    private SliceDTO<UserResponseDTO> mapSliceWithCompanies(Slice<User> usersSlice) {
+        Map<Long, CompanyDTO> companies = fetchCompaniesForUsers(usersSlice.getContent());
+
+        List<UserResponseDTO> content = usersSlice.getContent().stream()
+                .map(user -> mapUserWithCompany(user, companies))
+                .toList();
+
+        return new SliceDTO<>(content, usersSlice.getNumber(), usersSlice.getSize(), usersSlice.hasNext());
+    }
+
+    private UserResponseDTO mapUserWithCompany(User user, Map<Long, CompanyDTO> companies) {
+        CompanyDTO company = user.getCompanyId() == null ? null : companies.get(user.getCompanyId());
         return convertEntityToDto(user, company);
     }
 
@@ -229,7 +483,7 @@ public class UserServiceImpl implements UserService {
         Optional.ofNullable(dto.getCompanyId()).ifPresent(user::setCompanyId);
         Optional.ofNullable(dto.getLastName()).filter(s -> !s.isBlank()).ifPresent(user::setLastName);
         Optional.ofNullable(dto.getFirstName()).filter(s -> !s.isBlank()).ifPresent(user::setFirstName);
-        Optional.ofNullable(dto.getPhoneNumber()).filter(s -> !s.isBlank()).ifPresent(user::setPhoneNumber);
+        Optional.ofNullable(dto.getPhoneNumber()).filter(s -> !s.isBlank()).map(PhoneNumbers::normalize).ifPresent(user::setPhoneNumber);
     }
 
     private CompanyDTO fetchCompanyIfPresent(Long companyId) {
@@ -238,15 +492,8 @@ public class UserServiceImpl implements UserService {
                 .orElse(null);
     }
 
-    private void addUserToCompanyIfPresent(Long userId, Long companyId) {
-        if (companyId != null) {
-            addUserToCompany(userId, companyId);
-        }
-    }
-
     private CompanyDTO resolveCompanyForUpdate(User user, UserUpdateDTO dto) {
         if (dto.getCompanyId() != null) {
-            handleCompanyChangeIfNeeded(user, dto.getCompanyId());
             return fetchCompanyByIdOrThrow(dto.getCompanyId());
         }
         if (user.getCompanyId() != null) {
@@ -254,16 +501,4 @@ public class UserServiceImpl implements UserService {
         }
         return null;
     }
-
-    private void handleCompanyChangeIfNeeded(User user, Long newCompanyId) {
-        if (user.getCompanyId() != null && !user.getCompanyId().equals(newCompanyId)) {
-            removeUserFromCompany(user.getId(), user.getCompanyId());
-            addUserToCompany(user.getId(), newCompanyId);
-        }
-    }
-
-    private void removeUserFromCompanyIfExists(User user) {
-        Optional.ofNullable(user.getCompanyId())
-                .ifPresent(companyId -> removeUserFromCompany(user.getId(), companyId));
-    }
 }
@@ -0,0 +1,34 @@
+package com.avbinvest.user.util;
+
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.module.CompanyProjection;
+
+import java.time.Instant;
+
+/**
+ * Utility class for converting between {@link CompanyProjection} rows and {@link CompanyDTO}.
+ */
+public class CompanyProjectionConverter {
+
+    private CompanyProjectionConverter() {
+    }
+
+    public static CompanyProjection convertDtoToProjection(CompanyDTO company, Instant syncedAt) {
+        return CompanyProjection.builder()
+                .id(company.getId())
+                .name(company.getName())
+                .budget(company.getBudget())
+                .version(company.getVersion() == null ? 0L : company.getVersion())
+                .syncedAt(syncedAt)
+                .build();
+    }
+
+    public static CompanyDTO convertProjectionToDto(CompanyProjection projection) {
+        return CompanyDTO.builder()
+                .id(projection.getId())
+                .name(projection.getName())
+                .budget(projection.getBudget())
+                .version(projection.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.avbinvest.user.util;
+
+/**
+ * Brings phone numbers into the canonical form stored in the database:
+ * a leading {@code +} followed by digits only, so "+7 961 588-23-83"
+ * and "79615882383" end up as the same value under the unique index.
+ */
+public class PhoneNumbers {
+
+    private PhoneNumbers() {
+    }
+
+    public static String normalize(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return phoneNumber;
+        }
+        StringBuilder normalized = new StringBuilder(phoneNumber.length() + 1).append('+');
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -16,7 +16,7 @@ public class UserConverter {
 
     /**
      * Converts a {@link UserCreateDTO} into a {@link User} entity.
-     * Maps fields: firstName, lastName, phoneNumber, companyId.
+     * Maps fields: firstName, lastName, phoneNumber (normalized), companyId.
      *
      * @param dto Data transfer object containing user creation or update data.
      * @return User entity constructed from DTO fields.
@@ -25,7 +25,7 @@ public class UserConverter {
         return User.builder()
                 .firstName(dto.getFirstName())
                 .lastName(dto.getLastName())
-                .phoneNumber(dto.getPhoneNumber())
+                .phoneNumber(PhoneNumbers.normalize(dto.getPhoneNumber()))
                 .companyId(dto.getCompanyId())
                 .build();
     }
@@ -0,0 +1,42 @@
+-- Normalizes stored phone numbers and makes them unique before uk_users_phone_number is added (user-007).
+-- Safe to run more than once; run it before starting a user-service that enforces the constraint.
+
+BEGIN;
+
+-- Same rule as PhoneNumbers.normalize: a '+' followed by the digits only; blank values are left as they are.
+UPDATE users
+SET phone_number = '+' || regexp_replace(phone_number, '[^0-9]', '', 'g')
+WHERE trim(phone_number) <> ''
+  AND phone_number <> '+' || regexp_replace(phone_number, '[^0-9]', '', 'g');
+
+-- Of several users sharing a number, the oldest keeps it. The others lose it
+-- and are recorded here, so their numbers can be corrected by hand.
+CREATE TABLE IF NOT EXISTS users_phone_number_duplicates (
+    user_id      bigint       PRIMARY KEY,
+    phone_number varchar(255) NOT NULL
+);
+
+INSERT INTO users_phone_number_duplicates (user_id, phone_number)
+SELECT id, phone_number
+FROM (SELECT id, phone_number, row_number() OVER (PARTITION BY phone_number ORDER BY id) AS position
+      FROM users
+      WHERE phone_number IS NOT NULL) numbered
+WHERE position > 1
+ON CONFLICT DO NOTHING;
+
+-- Only numbers that are still the recorded duplicate, so a corrected number survives a rerun.
+UPDATE users
+SET phone_number = NULL
+WHERE EXISTS (SELECT 1
+              FROM users_phone_number_duplicates duplicate
+              WHERE duplicate.user_id = users.id
+                AND duplicate.phone_number = users.phone_number);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_phone_number') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_phone_number UNIQUE (phone_number);
+    END IF;
+END $$;
+
+COMMIT;
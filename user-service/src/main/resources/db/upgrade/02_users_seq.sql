@@ -0,0 +1,14 @@
+-- Creates users_seq for the pooled id generator of User and moves it past the ids handed out
+-- by the former identity column (user-010). Safe to run more than once, also while user-service runs.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+
+-- Hibernate's pooled optimizer uses the 50 ids up to each value it draws, so the next draw
+-- (last value + 50) must not reach below max(id) + 1. The sequence never moves backwards.
+SELECT setval('users_seq', greatest((SELECT coalesce(max(id), 1) FROM users),
+                                    (SELECT last_value FROM users_seq)));
+
+COMMIT;
@@ -0,0 +1,12 @@
+-- Backfills the optimistic-locking version of users (user-015). Safe to run more than once.
+
+BEGIN;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+-- A column created without the default holds NULL for existing rows, which Hibernate cannot increment.
+UPDATE users SET version = 0 WHERE version IS NULL;
+ALTER TABLE users ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE users ALTER COLUMN version SET NOT NULL;
+
+COMMIT;
@@ -0,0 +1,173 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.config.CompanyCacheProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.exception.CompanyNotFoundException;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.module.CompanyProjection;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import com.avbinvest.user.util.CompanyProjectionConverter;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompanyCacheTest {
+
+    private CompanyClient companyClient;
+    private CompanyProjectionRepository projectionRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CompanyCache companyCache;
+
+    private final CompanyDTO first = new CompanyDTO(1L, "First", BigDecimal.ONE, 0L);
+    private final CompanyDTO second = new CompanyDTO(2L, "Second", BigDecimal.TEN, 0L);
+
+    @BeforeEach
+    void setUp() {
+        companyClient = mock(CompanyClient.class);
+        projectionRepository = mock(CompanyProjectionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        companyCache = new CompanyCache(companyClient, projectionRepository, new CompanyCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void get_shouldCallCompanyServiceOnlyOnMiss() {
+        when(companyClient.getCompanyById(1L, false)).thenReturn(first);
+
+        assertThat(companyCache.get(1L)).isEqualTo(first);
+        assertThat(companyCache.get(1L)).isEqualTo(first);
+
+        verify(companyClient, times(1)).getCompanyById(1L, false);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "companies").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "companies").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_shouldTranslateNotFound() {
+        when(companyClient.getCompanyById(42L, false)).thenThrow(mock(FeignException.NotFound.class));
+
+        assertThatThrownBy(() -> companyCache.get(42L))
+                .isInstanceOf(CompanyNotFoundException.class);
+    }
+
+    @Test
+    void getAll_shouldLoadOnlyMissingCompaniesInOneCall() {
+        when(companyClient.getCompanyById(1L, false)).thenReturn(first);
+        when(companyClient.getCompaniesByIds(List.of(2L, 3L))).thenReturn(List.of(second));
+
+        companyCache.get(1L);
+        Map<Long, CompanyDTO> result = companyCache.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(companyClient).getCompaniesByIds(List.of(2L, 3L));
+    }
+
+    @Test
+    void get_shouldServeMissFromProjectionWithoutRemoteCall() {
+        when(projectionRepository.findById(1L)).thenReturn(Optional.of(projection(first)));
+
+        assertThat(companyCache.get(1L)).isEqualTo(first);
+
+        verifyNoInteractions(companyClient);
+    }
+
+    @Test
+    void getAll_shouldFetchOnlyCompaniesUnknownToProjection() {
+        when(projectionRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(projection(first)));
+        when(companyClient.getCompaniesByIds(List.of(2L))).thenReturn(List.of(second));
+
+        Map<Long, CompanyDTO> result = companyCache.getAll(List.of(1L, 2L));
+
+        assertThat(result).containsEntry(1L, first).containsEntry(2L, second);
+        verify(companyClient).getCompaniesByIds(List.of(2L));
+        verify(projectionRepository).upsertUnlessNewer(projection(second));
+    }
+
+    @Test
+    void put_shouldUpdateProjectionAndCache() {
+        CompanyDTO renamed = new CompanyDTO(1L, "Renamed", BigDecimal.ONE, 0L);
+
+        companyCache.put(renamed);
+
+        assertThat(companyCache.get(1L)).isEqualTo(renamed);
+        verify(projectionRepository).upsertUnlessNewer(any());
+        verifyNoInteractions(companyClient);
+    }
+
+    @Test
+    void put_shouldNotReplaceNewerCachedVersion() {
+        CompanyDTO newer = new CompanyDTO(1L, "Newer", BigDecimal.ONE, 5L);
+        CompanyDTO older = new CompanyDTO(1L, "Older", BigDecimal.ONE, 4L);
+
+        companyCache.put(newer);
+        companyCache.put(older);
+
+        assertThat(companyCache.get(1L)).isEqualTo(newer);
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        when(companyClient.getCompanyById(1L, false)).thenReturn(first);
+
+        companyCache.get(1L);
+        companyCache.evict(1L);
+        companyCache.get(1L);
+
+        verify(companyClient, times(2)).getCompanyById(1L, false);
+        verify(projectionRepository).deleteById(1L);
+    }
+
+    @Test
+    void getAll_shouldNotCacheLoadOverlappingWithEvict() {
+        when(projectionRepository.findAllById(List.of(1L, 2L))).thenAnswer(invocation -> {
+            companyCache.evict(2L);
+            return List.of(projection(first), projection(second));
+        });
+
+        assertThat(companyCache.getAll(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+
+        assertThat(companyCache.getAllPresent(List.of(1L, 2L))).isEmpty();
+    }
+
+    @Test
+    void getAll_shouldNotOverwriteCompanyPushedDuringLoad() {
+        CompanyDTO renamed = new CompanyDTO(2L, "Renamed", BigDecimal.TEN, 0L);
+        when(projectionRepository.findAllById(List.of(1L, 2L))).thenAnswer(invocation -> {
+            companyCache.put(renamed);
+            return List.of(projection(first), projection(second));
+        });
+
+        companyCache.getAll(List.of(1L, 2L));
+
+        assertThat(companyCache.get(2L)).isEqualTo(renamed);
+    }
+
+    @Test
+    void get_shouldNotOverwriteCompanyPushedDuringLoad() {
+        CompanyDTO renamed = new CompanyDTO(1L, "Renamed", BigDecimal.ONE, 1L);
+        when(companyClient.getCompanyById(1L, false)).thenAnswer(invocation -> {
+            companyCache.put(renamed);
+            return first;
+        });
+
+        assertThat(companyCache.get(1L)).isEqualTo(first);
+
+        assertThat(companyCache.get(1L)).isEqualTo(renamed);
+        verify(companyClient, times(1)).getCompanyById(1L, false);
+    }
+
+    private static CompanyProjection projection(CompanyDTO company) {
+        return CompanyProjectionConverter.convertDtoToProjection(company, Instant.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class CompanyProjectionRebuilderTest {
+
+    private CompanyClient companyClient;
+    private CompanyProjectionRepository projectionRepository;
+    private CompanyProjectionRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        companyClient = mock(CompanyClient.class);
+        projectionRepository = mock(CompanyProjectionRepository.class);
+        rebuilder = new CompanyProjectionRebuilder(companyClient, projectionRepository);
+    }
+
+    @Test
+    void rebuild_shouldScrollAllCompaniesAndRemoveStaleRows() {
+        CompanyDTO first = new CompanyDTO(1L, "First", BigDecimal.ONE, 0L);
+        CompanyDTO second = new CompanyDTO(2L, "Second", BigDecimal.TEN, 0L);
+        when(companyClient.scrollCompanies(isNull(), anyInt(), eq(false)))
+                .thenReturn(new CursorPageDTO<>(List.of(first), 1, "next"));
+        when(companyClient.scrollCompanies(eq("next"), anyInt(), eq(false)))
+                .thenReturn(new CursorPageDTO<>(List.of(second), 1, null));
+
+        rebuilder.rebuild();
+
+        verify(projectionRepository, times(2)).upsertUnlessNewer(any());
+        verify(projectionRepository).deleteBySyncedAtBefore(any(Instant.class));
+    }
+
+    @Test
+    void rebuild_shouldKeepRowsWhenCompanyServiceIsDown() {
+        when(companyClient.scrollCompanies(isNull(), anyInt(), eq(false)))
+                .thenThrow(mock(FeignException.ServiceUnavailable.class));
+
+        rebuilder.rebuild();
+
+        verify(projectionRepository, never()).deleteBySyncedAtBefore(any());
+    }
+}
@@ -0,0 +1,63 @@
+package com.avbinvest.user.cache;
+
+import com.avbinvest.user.config.PhoneNumberFilterProperties;
+import com.avbinvest.user.repository.UserRepository;
+import com.avbinvest.user.util.PhoneNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PhoneNumberFilterTest {
+
+    private UserRepository userRepository;
+    private PhoneNumberFilter phoneNumberFilter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PhoneNumberFilterProperties properties = new PhoneNumberFilterProperties();
+        properties.setExpectedInsertions(10_000);
+        phoneNumberFilter = new PhoneNumberFilter(userRepository, properties);
+    }
+
+    @Test
+    void mightContain_shouldReportPossibleMatchUntilLoaded() {
+        assertThat(phoneNumberFilter.isReady()).isFalse();
+        assertThat(phoneNumberFilter.mightContain("+79615882383")).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldLoadStoredNumbers() {
+        when(userRepository.streamAllPhoneNumbers()).thenReturn(Stream.of("+79615882383", "+79615882385"));
+
+        phoneNumberFilter.rebuild();
+
+        assertThat(phoneNumberFilter.mightContain("+79615882383")).isTrue();
+        assertThat(phoneNumberFilter.mightContain("+79615882385")).isTrue();
+    }
+
+    @Test
+    void mightContain_shouldKeepFalsePositivesNearConfiguredRate() {
+        when(userRepository.streamAllPhoneNumbers())
+                .thenReturn(LongStream.range(0, 10_000).mapToObj(i -> "+7900" + i));
+        phoneNumberFilter.rebuild();
+
+        long falsePositives = LongStream.range(0, 10_000)
+                .mapToObj(i -> "+7800" + i)
+                .filter(phoneNumberFilter::mightContain)
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void normalize_shouldStripFormatting() {
+        assertThat(PhoneNumbers.normalize("+7 (961) 588-23-83")).isEqualTo("+79615882383");
+        assertThat(PhoneNumbers.normalize("79615882383")).isEqualTo("+79615882383");
+    }
+}
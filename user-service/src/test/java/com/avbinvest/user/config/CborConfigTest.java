@@ -0,0 +1,50 @@
+package com.avbinvest.user.config;
+
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.UserResponseDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CborConfigTest {
+
+    @Test
+    void cborPayloadOfLargeUserPage_shouldBeSmallerThanJsonAndDecodeToSameTree() throws Exception {
+        CompanyDTO company = new CompanyDTO(1L, "OOO Company", BigDecimal.valueOf(1_000_000), 0L);
+        List<UserResponseDTO> users = LongStream.rangeClosed(1, 5000)
+                .mapToObj(id -> new UserResponseDTO(id, "First" + id, "Last" + id, "+7961588" + (1000 + id), company))
+                .toList();
+        PageImpl<UserResponseDTO> page = new PageImpl<>(users);
+
+        ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+        ObjectMapper cbor = new CborConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        byte[] jsonBytes = json.writeValueAsBytes(page);
+        byte[] cborBytes = cbor.writeValueAsBytes(page);
+
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        JsonNode decoded = cbor.readTree(cborBytes);
+        assertThat(decoded.path("content")).hasSize(5000);
+        assertThat(decoded.path("content").path(4999).path("id").asLong()).isEqualTo(5000L);
+    }
+
+    @Test
+    void cborMapper_shouldBeConfiguredLikeJsonMapper() {
+        ObjectMapper cbor = new CborConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()
+                .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)).getObjectMapper();
+
+        assertThat(cbor.getFactory()).isInstanceOf(CBORFactory.class);
+        assertThat(cbor.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)).isTrue();
+        assertThat(cbor.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)).isFalse();
+    }
+}
@@ -1,15 +1,22 @@
 package com.avbinvest.user.controller;
 
+import com.avbinvest.user.config.CborConfig;
 import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.dto.SliceDTO;
+import com.avbinvest.user.dto.TaggedDTO;
 import com.avbinvest.user.dto.UserCreateDTO;
 import com.avbinvest.user.dto.UserResponseDTO;
+import com.avbinvest.user.dto.UsersVersionDTO;
 import com.avbinvest.user.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -21,11 +28,13 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(CborConfig.class)
 class UserControllerTest {
 
     @Autowired
@@ -38,7 +47,7 @@ class UserControllerTest {
     private ObjectMapper objectMapper;
 
     private final CompanyDTO companyDTO = new CompanyDTO(
-            1L, "OOO Company", BigDecimal.ONE
+            1L, "OOO Company", BigDecimal.ONE, 0L
     );
 
     private final UserResponseDTO userResponse = new UserResponseDTO(
@@ -66,15 +75,68 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.content[0].firstName").value("John"));
     }
 
+    @Test
+    void getAllUsers_withoutTotal_shouldReturnSlice() throws Exception {
+        Mockito.when(userService.getAllUsersSlice(PageRequest.of(0, 10)))
+                .thenReturn(new SliceDTO<>(List.of(userResponse), 0, 10, true));
+
+        mockMvc.perform(get("/api/users")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].firstName", is("John")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        Mockito.verify(userService, Mockito.never()).getAllUsers(any());
+    }
+
+    @Test
+    void getUsersByIds_withoutTotal_shouldReturnSlice() throws Exception {
+        List<Long> ids = List.of(1L, 2L);
+        Mockito.when(userService.getUsersByIdsSlice(Mockito.eq(ids), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceDTO<>(List.of(userResponse), 0, 10, false));
+
+        mockMvc.perform(post("/api/users/getUsersByIds")
+                        .param("withTotal", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void scrollUsers_shouldReturnContentAndNextCursor() throws Exception {
+        Mockito.when(userService.scrollUsers("abc", 1))
+                .thenReturn(new CursorPageDTO<>(List.of(userResponse), 1, "next-cursor"));
+
+        mockMvc.perform(get("/api/users/scroll")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].lastName", is("Doe")))
+                .andExpect(jsonPath("$.next", is("next-cursor")));
+    }
+
     @Test
     void getUserById_shouldReturnUser() throws Exception {
-        Mockito.when(userService.getUserById(1L)).thenReturn(userResponse);
+        Mockito.when(userService.getTaggedUserById(1L)).thenReturn(new TaggedDTO<>(userResponse, "\"3\""));
 
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.lastName", is("Doe")));
     }
 
+    @Test
+    void getUserById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        Mockito.when(userService.getTaggedUserById(1L)).thenReturn(new TaggedDTO<>(userResponse, "\"3\""));
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void addUserToCompany_shouldReturnUser() throws Exception {
         Mockito.when(userService.addUserToCompany(1L, 1L)).thenReturn(userResponse);
@@ -101,6 +163,47 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.content[0].id").value(1));
     }
 
+    @Test
+    void getUsersByIds_shouldExchangeCbor_whenRequested() throws Exception {
+        List<Long> ids = List.of(1L, 2L);
+        Mockito.when(userService.getUsersByIds(Mockito.eq(ids), Mockito.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(userResponse)));
+        CBORMapper cborMapper = new CBORMapper();
+
+        byte[] body = mockMvc.perform(post("/api/users/getUsersByIds")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(ids)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(1L, cborMapper.readTree(body).path("content").path(0).path("id").asLong());
+    }
+
+    @Test
+    void getUserById_shouldNotNegotiateCbor() throws Exception {
+        Mockito.when(userService.getTaggedUserById(1L)).thenReturn(new TaggedDTO<>(userResponse, "\"3\""));
+
+        mockMvc.perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getUsersVersion_shouldReturnDigest() throws Exception {
+        Mockito.when(userService.getUsersVersion(List.of(1L, 2L))).thenReturn(new UsersVersionDTO(2L, 5L));
+
+        mockMvc.perform(post("/api/users/getUsersVersion")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.versionSum").value(5));
+    }
+
     @Test
     void createUser_shouldReturnCreatedUser() throws Exception {
         UserCreateDTO request = new UserCreateDTO("Jane", "Doe", "+79615882388", null);
@@ -116,6 +219,33 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.lastName", is("Doe")));
     }
 
+    @Test
+    void createUsers_shouldReturnCreatedUsers() throws Exception {
+        List<UserCreateDTO> request = List.of(
+                new UserCreateDTO("Jane", "Doe", "+79615882388", 1L),
+                new UserCreateDTO("John", "Doe", "+79615882389", 1L));
+
+        Mockito.when(userService.createUsers(anyList())).thenReturn(List.of(userResponse, userResponse));
+
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void removeUsersFromCompany_shouldReturnDetachedCount() throws Exception {
+        Mockito.when(userService.removeUsersFromCompany(1L, List.of(2L, 3L))).thenReturn(2);
+
+        mockMvc.perform(post("/api/users/removeUsersFromCompany")
+                        .param("companyId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[2,3]"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
     @Test
     void updateUser_shouldReturnUpdatedUser() throws Exception {
         UserCreateDTO request = new UserCreateDTO("Jane", "Doe", "+79615882388", null);
@@ -131,6 +261,20 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.lastName", is("Doe")));
     }
 
+    @Test
+    void updateUser_shouldPassIfMatchVersion() throws Exception {
+        UserCreateDTO request = new UserCreateDTO("Jane", "Doe", "+79615882388", null);
+        Mockito.when(userService.updateUser(eq(1L), any())).thenReturn(userResponse);
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"7-1f\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(userService).updateUser(eq(1L), argThat(dto -> Long.valueOf(7L).equals(dto.getVersion())));
+    }
+
     @Test
     void deleteUser_shouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/api/users/1"))
@@ -0,0 +1,76 @@
+package com.avbinvest.user.logging;
+
+import com.avbinvest.user.config.LoggingProperties;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestLoggingInterceptorTest {
+
+    static class SampleController {
+        public String hot() {
+            return "hot";
+        }
+
+        public String cold() {
+            return "cold";
+        }
+    }
+
+    private final LoggingProperties.Requests properties = new LoggingProperties.Requests();
+    private final RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(properties);
+
+    @Test
+    void shouldSampleEndpointsWithTheirOwnRate() throws Exception {
+        properties.getEndpoints().put("samplecontroller.hot", 0.0);
+
+        MockHttpServletRequest hot = preHandle(handler("hot"), DispatcherType.REQUEST);
+        MockHttpServletRequest cold = preHandle(handler("cold"), DispatcherType.REQUEST);
+
+        assertThat(hot.getAttribute(RequestLoggingInterceptor.START_ATTRIBUTE)).isNull();
+        assertThat(cold.getAttribute(RequestLoggingInterceptor.START_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    void shouldNotSampleWhenDefaultRateIsZero() throws Exception {
+        properties.setSampleRate(0.0);
+
+        for (int i = 0; i < 100; i++) {
+            MockHttpServletRequest request = preHandle(handler("cold"), DispatcherType.REQUEST);
+            assertThat(request.getAttribute(RequestLoggingInterceptor.START_ATTRIBUTE)).isNull();
+        }
+    }
+
+    @Test
+    void shouldNotRestartTimerOnAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = preHandle(handler("cold"), DispatcherType.ASYNC);
+
+        assertThat(request.getAttribute(RequestLoggingInterceptor.START_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void shouldCompleteUnsampledFailedRequest() throws Exception {
+        properties.setSampleRate(0.0);
+        MockHttpServletRequest request = preHandle(handler("cold"), DispatcherType.REQUEST);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(503);
+
+        assertThatCode(() -> interceptor.afterCompletion(request, response, handler("cold"), null))
+                .doesNotThrowAnyException();
+    }
+
+    private MockHttpServletRequest preHandle(HandlerMethod handler, DispatcherType dispatcherType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setDispatcherType(dispatcherType);
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), handler)).isTrue();
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+}
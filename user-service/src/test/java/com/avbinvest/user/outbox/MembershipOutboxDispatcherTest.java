@@ -0,0 +1,183 @@
+package com.avbinvest.user.outbox;
+
+import com.avbinvest.user.config.MembershipOutboxProperties;
+import com.avbinvest.user.feignClient.CompanyBulkClient;
+import com.avbinvest.user.module.MembershipChange;
+import com.avbinvest.user.module.MembershipOutboxEvent;
+import com.avbinvest.user.repository.MembershipOutboxRepository;
+import com.avbinvest.user.service.UserService;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MembershipOutboxDispatcherTest {
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final MembershipOutboxProperties properties = new MembershipOutboxProperties();
+
+    private MembershipOutboxRepository outboxRepository;
+    private CompanyBulkClient companyClient;
+    private UserService userService;
+    private MembershipOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(MembershipOutboxRepository.class);
+        companyClient = mock(CompanyBulkClient.class);
+        userService = mock(UserService.class);
+        TransactionOperations transactionOperations = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction.set(true);
+                try {
+                    return action.doInTransaction(new SimpleTransactionStatus());
+                } finally {
+                    inTransaction.set(false);
+                }
+            }
+        };
+        dispatcher = new MembershipOutboxDispatcher(outboxRepository, companyClient, userService, transactionOperations, properties);
+        when(outboxRepository.tryAdvisoryXactLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void dispatch_shouldSendRunsOfSameChangeInOrderPerCompany() {
+        MembershipOutboxEvent a1 = event(1L, 1L, 10L, MembershipChange.ADDED);
+        MembershipOutboxEvent b1 = event(2L, 2L, 20L, MembershipChange.ADDED);
+        MembershipOutboxEvent a2 = event(3L, 1L, 11L, MembershipChange.ADDED);
+        MembershipOutboxEvent a3 = event(4L, 1L, 10L, MembershipChange.REMOVED);
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(a1, b1, a2, a3));
+
+        dispatcher.dispatch();
+
+        InOrder inOrder = inOrder(companyClient, outboxRepository);
+        inOrder.verify(outboxRepository).postpone(eq(List.of(1L, 2L, 3L, 4L)), any(Instant.class));
+        inOrder.verify(companyClient).addEmployees(1L, List.of(10L, 11L));
+        inOrder.verify(outboxRepository).deleteAllInBatch(List.of(a1, a2));
+        inOrder.verify(companyClient).removeEmployees(1L, List.of(10L));
+        inOrder.verify(outboxRepository).deleteAllInBatch(List.of(a3));
+        inOrder.verify(companyClient).addEmployees(2L, List.of(20L));
+        inOrder.verify(outboxRepository).deleteAllInBatch(List.of(b1));
+    }
+
+    @Test
+    void dispatch_shouldCallCompanyServiceOutsideOfClaimTransaction() {
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 1L, 10L, MembershipChange.ADDED)));
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return null;
+        }).when(companyClient).addEmployees(1L, List.of(10L));
+
+        dispatcher.dispatch();
+
+        verify(companyClient).addEmployees(1L, List.of(10L));
+    }
+
+    @Test
+    void dispatch_shouldKeepEventsAndBackOffCompanyOnFailure() {
+        MembershipOutboxEvent a1 = event(1L, 1L, 10L, MembershipChange.ADDED);
+        MembershipOutboxEvent a2 = event(2L, 1L, 10L, MembershipChange.REMOVED);
+        MembershipOutboxEvent b1 = event(3L, 2L, 20L, MembershipChange.ADDED);
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(a1, a2, b1));
+        doThrow(mock(FeignException.ServiceUnavailable.class)).when(companyClient).addEmployees(1L, List.of(10L));
+
+        dispatcher.dispatch();
+
+        verify(companyClient, never()).removeEmployees(anyLong(), anyList());
+        verify(outboxRepository, never()).deleteAllInBatch(List.of(a1));
+        verify(outboxRepository).recordFailure(eq(List.of(1L)), any(Instant.class), anyString());
+        verify(outboxRepository).postpone(List.of(2L), null);
+        verify(outboxRepository, never()).deadLetter(anyList(), any(), anyString());
+        verify(outboxRepository).deleteAllInBatch(List.of(b1));
+    }
+
+    @Test
+    void dispatch_shouldDeadLetterRejectedRunAndContinue() {
+        MembershipOutboxEvent a1 = event(1L, 1L, 10L, MembershipChange.ADDED);
+        MembershipOutboxEvent a2 = event(2L, 1L, 10L, MembershipChange.REMOVED);
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(a1, a2));
+        FeignException.BadRequest rejected = mock(FeignException.BadRequest.class);
+        when(rejected.status()).thenReturn(400);
+        doThrow(rejected).when(companyClient).addEmployees(1L, List.of(10L));
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository).deadLetter(eq(List.of(1L)), any(Instant.class), anyString());
+        verify(outboxRepository, never()).recordFailure(anyList(), any(), anyString());
+        verify(companyClient).removeEmployees(1L, List.of(10L));
+        verify(outboxRepository).deleteAllInBatch(List.of(a2));
+    }
+
+    @Test
+    void dispatch_shouldDeadLetterAfterMaxAttempts() {
+        MembershipOutboxEvent a1 = event(1L, 1L, 10L, MembershipChange.ADDED);
+        a1.setAttempts(properties.getMaxAttempts() - 1);
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(a1));
+        doThrow(mock(FeignException.ServiceUnavailable.class)).when(companyClient).addEmployees(1L, List.of(10L));
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository).deadLetter(eq(List.of(1L)), any(Instant.class), anyString());
+        verify(outboxRepository, never()).recordFailure(anyList(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_shouldDetachUsersAndDropEventsOfUnknownCompany() {
+        MembershipOutboxEvent a1 = event(1L, 1L, 10L, MembershipChange.ADDED);
+        MembershipOutboxEvent a2 = event(2L, 1L, 11L, MembershipChange.ADDED);
+        MembershipOutboxEvent a3 = event(3L, 1L, 10L, MembershipChange.REMOVED);
+        MembershipOutboxEvent b1 = event(4L, 2L, 20L, MembershipChange.ADDED);
+        when(outboxRepository.findDeliverable(any(Instant.class), any(Pageable.class))).thenReturn(List.of(a1, a2, a3, b1));
+        doThrow(mock(FeignException.NotFound.class)).when(companyClient).addEmployees(1L, List.of(10L, 11L));
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return 2;
+        }).when(userService).removeUsersFromCompany(1L, List.of(10L, 11L));
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return null;
+        }).when(outboxRepository).deleteAllInBatch(List.of(a1, a2, a3));
+
+        dispatcher.dispatch();
+
+        verify(userService).removeUsersFromCompany(1L, List.of(10L, 11L));
+        verify(outboxRepository).deleteAllInBatch(List.of(a1, a2, a3));
+        verify(companyClient, never()).removeEmployees(anyLong(), anyList());
+        verify(outboxRepository, never()).deadLetter(anyList(), any(), anyString());
+        verify(companyClient).addEmployees(2L, List.of(20L));
+        verify(outboxRepository).deleteAllInBatch(List.of(b1));
+    }
+
+    @Test
+    void dispatch_shouldSkipRunWhenAnotherInstanceHoldsLock() {
+        when(outboxRepository.tryAdvisoryXactLock(anyLong())).thenReturn(false);
+
+        dispatcher.dispatch();
+
+        verify(outboxRepository, never()).findDeliverable(any(Instant.class), any(Pageable.class));
+        verifyNoInteractions(companyClient);
+    }
+
+    private static MembershipOutboxEvent event(Long id, Long companyId, Long userId, MembershipChange change) {
+        return MembershipOutboxEvent.builder()
+                .id(id)
+                .companyId(companyId)
+                .userId(userId)
+                .change(change)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.avbinvest.user.reactive;
+
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.config.CompanyCacheProperties;
+import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.exception.UserNotFoundException;
+import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.module.User;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveUserReaderTest {
+
+    private final CompanyDTO acme = new CompanyDTO(1L, "Acme", BigDecimal.ONE, 0L);
+    private final CompanyDTO globex = new CompanyDTO(2L, "Globex", BigDecimal.TEN, 0L);
+
+    private ReactiveUserRepository userRepository;
+    private ReactiveCompanyClient companyClient;
+    private CompanyClient blockingCompanyClient;
+    private CompanyCache companyCache;
+    private ReactiveUserReader userReader;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(ReactiveUserRepository.class);
+        companyClient = mock(ReactiveCompanyClient.class);
+        blockingCompanyClient = mock(CompanyClient.class);
+        companyCache = new CompanyCache(blockingCompanyClient, mock(CompanyProjectionRepository.class),
+                new CompanyCacheProperties(), new SimpleMeterRegistry());
+        userReader = new ReactiveUserReader(userRepository, companyClient, companyCache);
+    }
+
+    @Test
+    void getUserById_shouldReadCompanyFromProjection() {
+        when(userRepository.findById(1L)).thenReturn(Mono.just(new User(1L, "John", "Doe", "+1234567890", 1L, 0L)));
+        when(userRepository.findCompanyProjections(List.of(1L))).thenReturn(Flux.just(acme));
+
+        StepVerifier.create(userReader.getUserById(1L))
+                .assertNext(user -> {
+                    assertThat(user.getFirstName()).isEqualTo("John");
+                    assertThat(user.getCompany()).isEqualTo(acme);
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(companyClient, blockingCompanyClient);
+    }
+
+    @Test
+    void getUserById_shouldFailWhenUserIsMissing() {
+        when(userRepository.findById(42L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userReader.getUserById(42L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getAllUsers_shouldFetchCompaniesUnknownToProjectionInOneCallAndCacheThem() {
+        when(userRepository.findPage(0, 3)).thenReturn(Flux.just(
+                new User(1L, "John", "Doe", "+1234567890", 1L, 0L),
+                new User(2L, "Jane", "Doe", "+1234567891", 2L, 0L),
+                new User(3L, "Jack", "Doe", "+1234567892", null, 0L)));
+        when(userRepository.count()).thenReturn(Mono.just(7L));
+        when(userRepository.findCompanyProjections(List.of(1L, 2L))).thenReturn(Flux.just(acme));
+        when(companyClient.getCompaniesByIds(List.of(2L))).thenReturn(Mono.just(List.of(globex)));
+
+        StepVerifier.create(userReader.getAllUsers(PageRequest.of(0, 3)))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(7);
+                    assertThat(page.getContent()).extracting(user -> user.getCompany())
+                            .containsExactly(acme, globex, null);
+                })
+                .verifyComplete();
+
+        verify(companyClient, times(1)).getCompaniesByIds(anyCollection());
+        assertThat(companyCache.getAllPresent(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+    }
+}
@@ -1,25 +1,42 @@
 package com.avbinvest.user.service;
 
+import com.avbinvest.user.cache.CompanyCache;
+import com.avbinvest.user.cache.PhoneNumberFilter;
+import com.avbinvest.user.config.CompanyCacheProperties;
+import com.avbinvest.user.config.PhoneNumberFilterProperties;
 import com.avbinvest.user.dto.CompanyDTO;
+import com.avbinvest.user.dto.CursorPageDTO;
+import com.avbinvest.user.dto.SliceDTO;
 import com.avbinvest.user.dto.UserCreateDTO;
 import com.avbinvest.user.dto.UserResponseDTO;
 import com.avbinvest.user.dto.UserUpdateDTO;
 import com.avbinvest.user.exception.ConflictException;
 import com.avbinvest.user.exception.UserNotFoundException;
 import com.avbinvest.user.feignClient.CompanyClient;
+import com.avbinvest.user.module.MembershipChange;
+import com.avbinvest.user.module.MembershipOutboxEvent;
 import com.avbinvest.user.module.User;
+import com.avbinvest.user.outbox.MembershipOutbox;
+import com.avbinvest.user.repository.CompanyProjectionRepository;
+import com.avbinvest.user.repository.MembershipOutboxRepository;
 import com.avbinvest.user.repository.UserRepository;
+import com.avbinvest.user.util.CursorCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,18 +49,27 @@ class UserServiceImplTest {
     @Mock
     private CompanyClient companyClient;
 
-    @InjectMocks
+    @Mock
+    private MembershipOutboxRepository outboxRepository;
+
+    private PhoneNumberFilter phoneNumberFilter;
+
     private UserServiceImpl userService;
 
     @Captor
     private ArgumentCaptor<User> userCaptor;
 
-    private final User user = new User(1L, "John", "Doe", "+1234567890", null);
-    private final CompanyDTO company = new CompanyDTO(1L, "Test Company", BigDecimal.ONE);
+    private final User user = new User(1L, "John", "Doe", "+1234567890", null, null);
+    private final CompanyDTO company = new CompanyDTO(1L, "Test Company", BigDecimal.ONE, 0L);
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        CompanyCache companyCache = new CompanyCache(companyClient, mock(CompanyProjectionRepository.class),
+                new CompanyCacheProperties(), new SimpleMeterRegistry());
+        phoneNumberFilter = new PhoneNumberFilter(userRepository, new PhoneNumberFilterProperties());
+        userService = new UserServiceImpl(userRepository, companyCache, phoneNumberFilter,
+                new MembershipOutbox(outboxRepository), TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -88,10 +114,106 @@ class UserServiceImplTest {
                 .isInstanceOf(ConflictException.class);
     }
 
+    @Test
+    void shouldSkipPhoneLookupWhenFilterRulesNumberOut() {
+        when(userRepository.streamAllPhoneNumbers()).thenReturn(Stream.of("+79615882383"));
+        phoneNumberFilter.rebuild();
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        userService.createUser(new UserCreateDTO("John", "Doe", "+1234567890", null));
+
+        verify(userRepository, never()).findUserByPhoneNumber(any());
+        assertThat(phoneNumberFilter.mightContain("+1234567890")).isTrue();
+    }
+
+    @Test
+    void shouldNormalizePhoneBeforeCheckingUniqueness() {
+        UserCreateDTO dto = new UserCreateDTO("John", "Doe", "1234567890", null);
+
+        when(userRepository.findUserByPhoneNumber("+1234567890")).thenReturn(new User());
+
+        assertThatThrownBy(() -> userService.createUser(dto))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void shouldTranslatePhoneConstraintViolationToConflict() {
+        UserCreateDTO dto = new UserCreateDTO("John", "Doe", "+1234567890", null);
+
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"" + User.PHONE_NUMBER_CONSTRAINT + "\""));
+
+        assertThatThrownBy(() -> userService.createUser(dto))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void shouldBulkCreateUsersWithOneLookupAndOneCallPerCompany() {
+        List<UserCreateDTO> dtos = List.of(
+                new UserCreateDTO("John", "Doe", "+1234567890", 1L),
+                new UserCreateDTO("Jane", "Doe", "1234567891", 1L),
+                new UserCreateDTO("Jack", "Doe", "+1234567892", null));
+
+        when(companyClient.getCompaniesByIds(List.of(1L))).thenReturn(List.of(company));
+        when(userRepository.findExistingPhoneNumbers(anyCollection())).thenReturn(List.of());
+        when(userRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<User> users = inv.getArgument(0);
+            long id = 10;
+            for (User u : users) {
+                u.setId(id++);
+            }
+            return users;
+        });
+
+        List<UserResponseDTO> response = userService.createUsers(dtos);
+
+        assertThat(response).hasSize(3);
+        assertThat(response.get(1).getPhoneNumber()).isEqualTo("+1234567891");
+        assertThat(response.get(0).getCompany()).isEqualTo(company);
+        verify(userRepository, times(1)).findExistingPhoneNumbers(anyCollection());
+        verify(userRepository, never()).save(any());
+        assertThat(recordedEvents())
+                .extracting(MembershipOutboxEvent::getCompanyId, MembershipOutboxEvent::getUserId, MembershipOutboxEvent::getChange)
+                .containsExactly(tuple(1L, 10L, MembershipChange.ADDED), tuple(1L, 11L, MembershipChange.ADDED));
+    }
+
+    @Test
+    void shouldRejectBulkCreateWithExistingPhoneNumber() {
+        List<UserCreateDTO> dtos = List.of(new UserCreateDTO("John", "Doe", "+1234567890", null));
+
+        when(userRepository.findExistingPhoneNumbers(anyCollection())).thenReturn(List.of("+1234567890"));
+
+        assertThatThrownBy(() -> userService.createUsers(dtos))
+                .isInstanceOf(ConflictException.class);
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRejectBulkCreateWithDuplicatePhoneInRequest() {
+        List<UserCreateDTO> dtos = List.of(
+                new UserCreateDTO("John", "Doe", "+1234567890", null),
+                new UserCreateDTO("Jane", "Doe", "1234567890", null));
+
+        assertThatThrownBy(() -> userService.createUsers(dtos))
+                .isInstanceOf(ConflictException.class);
+        verifyNoInteractions(companyClient);
+    }
+
+    @Test
+    void shouldDetachUsersFromCompanyWithoutCallingCompanyService() {
+        when(userRepository.detachFromCompany(eq(1L), anyCollection())).thenReturn(2);
+
+        int detached = userService.removeUsersFromCompany(1L, List.of(10L, 11L, 10L));
+
+        assertThat(detached).isEqualTo(2);
+        verify(userRepository).detachFromCompany(1L, List.of(10L, 11L));
+        verifyNoInteractions(companyClient);
+    }
+
     @Test
     void shouldUpdateUser() {
-        User existing = new User(1L, "Old", "User", "+1234567890", 2L);
-        UserUpdateDTO dto = new UserUpdateDTO("Updated", "User", "+1234567890", 2L);
+        User existing = new User(1L, "Old", "User", "+1234567890", 2L, null);
+        UserUpdateDTO dto = new UserUpdateDTO("Updated", "User", "+1234567890", 2L, null);
 
         when(userRepository.getUserById(1L)).thenReturn(Optional.of(existing));
         when(companyClient.getCompanyById(3L, false)).thenReturn(company);
@@ -102,6 +224,47 @@ class UserServiceImplTest {
         assertThat(response.getFirstName()).isEqualTo("Updated");
     }
 
+    @Test
+    void shouldRecordCompanyChangeInOutboxOnUpdate() {
+        User existing = new User(1L, "Old", "User", "+1234567890", 2L, null);
+        UserUpdateDTO dto = new UserUpdateDTO(null, null, null, 1L, null);
+
+        when(userRepository.getUserById(1L)).thenReturn(Optional.of(existing));
+        when(companyClient.getCompanyById(1L, false)).thenReturn(company);
+        when(userRepository.save(any())).thenReturn(existing);
+
+        UserResponseDTO response = userService.updateUser(1L, dto);
+
+        assertThat(response.getCompany()).isEqualTo(company);
+        assertThat(recordedEvents())
+                .extracting(MembershipOutboxEvent::getCompanyId, MembershipOutboxEvent::getChange)
+                .containsExactly(tuple(2L, MembershipChange.REMOVED), tuple(1L, MembershipChange.ADDED));
+    }
+
+    @Test
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        User existing = new User(1L, "Old", "User", "+1234567890", null, 3L);
+        UserUpdateDTO dto = new UserUpdateDTO("Updated", null, null, null, 2L);
+
+        when(userRepository.getUserById(1L)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> userService.updateUser(1L, dto))
+                .isInstanceOf(ConflictException.class);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldTagUserWithVersionAndCompany() {
+        when(userRepository.getUserById(1L)).thenReturn(Optional.of(new User(1L, "John", "Doe", "+1234567890", 1L, 4L)));
+        when(companyClient.getCompanyById(1L, false)).thenReturn(company);
+
+        String eTag = userService.getTaggedUserById(1L).eTag();
+
+        assertThat(eTag).isEqualTo("\"4-0\"");
+        assertThat(userService.getTaggedUserById(1L).eTag()).isEqualTo(eTag);
+        verify(userRepository, times(2)).getUserById(1L);
+    }
+
     @Test
     void shouldThrowNotFoundOnMissingUser() {
         when(userRepository.getUserById(42L)).thenReturn(Optional.empty());
@@ -112,14 +275,16 @@ class UserServiceImplTest {
 
     @Test
     void shouldDeleteUser() {
-        User userToDelete = new User(1L, "Del", "User", "+123456", 10L);
+        User userToDelete = new User(1L, "Del", "User", "+123456", 10L, null);
 
         when(userRepository.getUserById(1L)).thenReturn(Optional.of(userToDelete));
         when(companyClient.getCompanyById(10L, false)).thenReturn(company);
 
         userService.deleteUser(1L);
 
-        verify(companyClient).removeEmployee(10L, 1L);
+        assertThat(recordedEvents())
+                .extracting(MembershipOutboxEvent::getCompanyId, MembershipOutboxEvent::getUserId, MembershipOutboxEvent::getChange)
+                .containsExactly(tuple(10L, 1L, MembershipChange.REMOVED));
         verify(userRepository).delete(userToDelete);
     }
 
@@ -134,7 +299,9 @@ class UserServiceImplTest {
         UserResponseDTO dto = userService.addUserToCompany(1L, 1L);
 
         assertThat(dto.getCompany().getId()).isEqualTo(1L);
-        verify(companyClient).addEmployee(1L, 1L);
+        assertThat(recordedEvents())
+                .extracting(MembershipOutboxEvent::getCompanyId, MembershipOutboxEvent::getUserId, MembershipOutboxEvent::getChange)
+                .containsExactly(tuple(1L, 1L, MembershipChange.ADDED));
     }
 
     @Test
@@ -157,7 +324,7 @@ class UserServiceImplTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         when(userRepository.findAll(pageable)).thenReturn(userPage);
-        when(companyClient.getCompanyById(1L, false)).thenReturn(company);
+        when(companyClient.getCompaniesByIds(List.of(1L))).thenReturn(List.of(company));
 
         Page<UserResponseDTO> result = userService.getAllUsers(pageable);
 
@@ -167,7 +334,81 @@ class UserServiceImplTest {
         assertThat(dto.getCompany().getId()).isEqualTo(company.getId());
 
         verify(userRepository).findAll(pageable);
-        verify(companyClient).getCompanyById(1L, false);
+        verify(companyClient).getCompaniesByIds(List.of(1L));
+        verify(companyClient, never()).getCompanyById(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldResolveCompaniesOfUsersPageInOneCall() {
+        CompanyDTO otherCompany = new CompanyDTO(2L, "Other Company", BigDecimal.TEN, 0L);
+        List<User> users = List.of(
+                new User(1L, "John", "Doe", "+1234567890", 1L, null),
+                new User(2L, "Jane", "Doe", "+1234567891", 2L, null),
+                new User(3L, "Jack", "Doe", "+1234567892", 1L, null),
+                new User(4L, "Jill", "Doe", "+1234567893", null, null));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(userRepository.findAllByIdIn(List.of(1L, 2L, 3L, 4L), pageable)).thenReturn(new PageImpl<>(users, pageable, 4));
+        when(companyClient.getCompaniesByIds(List.of(1L, 2L))).thenReturn(List.of(company, otherCompany));
+
+        Page<UserResponseDTO> result = userService.getUsersByIds(List.of(1L, 2L, 3L, 4L), pageable);
+
+        assertThat(result.getContent())
+                .extracting(dto -> dto.getCompany() == null ? null : dto.getCompany().getId())
+                .containsExactly(1L, 2L, 1L, null);
+
+        verify(companyClient, times(1)).getCompaniesByIds(anyList());
+        verify(companyClient, never()).getCompanyById(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldScrollUsersByKeyset() {
+        List<User> users = List.of(
+                new User(11L, "John", "Doe", "+1234567890", null, null),
+                new User(12L, "Jane", "Doe", "+1234567891", null, null),
+                new User(13L, "Jack", "Doe", "+1234567892", null, null));
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 3))).thenReturn(users);
+
+        CursorPageDTO<UserResponseDTO> result = userService.scrollUsers(CursorCodec.encode(10L), 2);
+
+        assertThat(result.getContent()).extracting(UserResponseDTO::getId).containsExactly(11L, 12L);
+        assertThat(CursorCodec.decode(result.getNext())).isEqualTo(12L);
+        verify(userRepository, never()).findAll(any(Pageable.class));
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void shouldReturnNoCursorOnLastScrollPage() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(new User(1L, "John", "Doe", "+1234567890", null, null)));
+
+        CursorPageDTO<UserResponseDTO> result = userService.scrollUsers(null, 10);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getNext()).isNull();
+    }
+
+    @Test
+    void shouldGetUsersSliceWithoutTotal() {
+        user.setCompanyId(1L);
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(userRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+        when(companyClient.getCompaniesByIds(List.of(1L))).thenReturn(List.of(company));
+
+        SliceDTO<UserResponseDTO> result = userService.getAllUsersSlice(pageable);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getContent().getFirst().getCompany().getId()).isEqualTo(1L);
+        verify(userRepository, never()).findAll(any(Pageable.class));
     }
 
+    @SuppressWarnings("unchecked")
+    private List<MembershipOutboxEvent> recordedEvents() {
+        ArgumentCaptor<List<MembershipOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
 }